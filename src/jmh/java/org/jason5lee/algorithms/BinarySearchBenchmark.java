@@ -0,0 +1,123 @@
+package org.jason5lee.algorithms;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The benchmarks of searching the random keys in a sorted array
+ * by the binary searches and the static index.
+ *
+ * @author Jason Lee(&#x674e;&#x4e1c;&#x6052;)
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BinarySearchBenchmark {
+    private static final int QUERIES = 1024;
+
+    @Param({ "1000", "1000000", "16000000" })
+    public int size;
+
+    @Param
+    public Distribution distribution;
+
+    private long[] sorted;
+    private Long[] sortedBoxed;
+    private long[] keys;
+    private Long[] boxedKeys;
+    private StaticSortedIndex.OfLong index;
+    private int[] results;
+
+    @Setup
+    public void setup() {
+        sorted = distribution.longs(size, 42);
+        Arrays.sort(sorted);
+        sortedBoxed = new Long[size];
+        for (int i = 0; i < size; ++i)
+            sortedBoxed[i] = sorted[i];
+        index = StaticSortedIndex.OfLong.of(sorted);
+        results = new int[QUERIES];
+
+        Random random = new Random(43);
+        keys = new long[QUERIES];
+        boxedKeys = new Long[QUERIES];
+        for (int i = 0; i < QUERIES; ++i) {
+            keys[i] = sorted[random.nextInt(size)] + random.nextInt(2);
+            boxedKeys[i] = keys[i];
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(QUERIES)
+    public void findLeastTrue(Blackhole blackhole) {
+        long[] sorted = this.sorted;
+        for (long key : keys)
+            blackhole.consume(BinarySearch.findLeastTrue(0, sorted.length, i -> sorted[i] >= key));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(QUERIES)
+    public void findLeastTrueLong(Blackhole blackhole) {
+        long[] sorted = this.sorted;
+        for (long key : keys)
+            blackhole.consume(BinarySearch.findLeastTrueLong(0, sorted.length, i -> sorted[(int) i] >= key));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(QUERIES)
+    public void gallopLeastTrue(Blackhole blackhole) {
+        long[] sorted = this.sorted;
+        // The hint is the result of the previous query.
+        long hint = 0;
+        for (long key : keys) {
+            hint = BinarySearch.gallopLeastTrue(0, sorted.length, hint, i -> sorted[(int) i] >= key);
+            blackhole.consume(hint);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(QUERIES)
+    public void sortableArrayBinarySearch(Blackhole blackhole) {
+        SortableArray<Long> array = SortableArray.of(sortedBoxed);
+        for (Long key : boxedKeys)
+            blackhole.consume(array.binarySearch(0, size, key));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(QUERIES)
+    public void arraysBinarySearch(Blackhole blackhole) {
+        for (long key : keys)
+            blackhole.consume(Arrays.binarySearch(sorted, key));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(QUERIES)
+    public void staticSortedIndex(Blackhole blackhole) {
+        for (long key : keys)
+            blackhole.consume(index.lowerBound(key));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(QUERIES)
+    public int[] staticSortedIndexBatch() {
+        return index.lowerBounds(keys, results);
+    }
+}
@@ -0,0 +1,80 @@
+package org.jason5lee.algorithms;
+
+import java.util.Random;
+
+/**
+ * The distributions of the keys in the benchmarks.
+ *
+ * @author Jason Lee(&#x674e;&#x4e1c;&#x6052;)
+ */
+public enum Distribution {
+    RANDOM {
+        @Override
+        int key(int i, int size, Random random) {
+            return random.nextInt();
+        }
+    },
+    SORTED {
+        @Override
+        int key(int i, int size, Random random) {
+            return i;
+        }
+    },
+    REVERSED {
+        @Override
+        int key(int i, int size, Random random) {
+            return size - i;
+        }
+    },
+    FEW_UNIQUE {
+        @Override
+        int key(int i, int size, Random random) {
+            return random.nextInt(16);
+        }
+    };
+
+    abstract int key(int i, int size, Random random);
+
+    /**
+     * Returns the keys of the distribution, which are the same for the same arguments.
+     * @param size the number of the keys.
+     * @param seed the seed of the random keys.
+     * @return the keys.
+     */
+    public int[] ints(int size, long seed) {
+        Random random = new Random(seed);
+        int[] keys = new int[size];
+        for (int i = 0; i < size; ++i)
+            keys[i] = key(i, size, random);
+        return keys;
+    }
+
+    /**
+     * Returns the boxed keys of the distribution, which are the same for the same arguments.
+     * @param size the number of the keys.
+     * @param seed the seed of the random keys.
+     * @return the keys.
+     */
+    public Integer[] boxed(int size, long seed) {
+        int[] keys = ints(size, seed);
+        Integer[] boxed = new Integer[size];
+        for (int i = 0; i < size; ++i)
+            boxed[i] = keys[i];
+        return boxed;
+    }
+
+    /**
+     * Returns the keys of the distribution as long values,
+     * which are the same for the same arguments.
+     * @param size the number of the keys.
+     * @param seed the seed of the random keys.
+     * @return the keys.
+     */
+    public long[] longs(int size, long seed) {
+        int[] keys = ints(size, seed);
+        long[] longs = new long[size];
+        for (int i = 0; i < size; ++i)
+            longs[i] = (long) keys[i] << 16;
+        return longs;
+    }
+}
@@ -0,0 +1,97 @@
+package org.jason5lee.algorithms;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.PrimitiveIterator;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The benchmarks of iterating the sequences until the repeat is detected,
+ * and detecting their cycles, with every cycle detection strategy.
+ * The iterated function is a random-looking mapping on [0, modulus),
+ * whose tail and cycle are about the square root of the modulus long.
+ *
+ * @author Jason Lee(&#x674e;&#x4e1c;&#x6052;)
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SequenceBuilderBenchmark {
+    public enum Strategy {
+        FLOYD, BRENT, NIVASCH, HASH_MAP
+    }
+
+    @Param({ "1000000", "100000000" })
+    public int modulus;
+
+    @Param
+    public Strategy strategy;
+
+    private int next(int x) {
+        long h = (x + 0x9e3779b9L) * 0xbf58476d1ce4e5b9L;
+        return (int) (((h ^ (h >>> 29)) & Long.MAX_VALUE) % modulus);
+    }
+
+    private SequenceBuilder<Integer> builder() {
+        SequenceBuilder<Integer> builder = new SequenceBuilder<Integer>()
+                .first(1)
+                .iterateBy(this::next);
+        switch (strategy) {
+            case FLOYD:
+                return builder.floydCycleDetection();
+            case BRENT:
+                return builder.brentCycleDetection();
+            case NIVASCH:
+                return builder.nivaschCycleDetection(Integer::compare);
+            default:
+                return builder.hashMapCycleDetection();
+        }
+    }
+
+    private IntSequenceBuilder intBuilder() {
+        IntSequenceBuilder builder = new IntSequenceBuilder()
+                .first(1)
+                .iterateBy(this::next);
+        switch (strategy) {
+            case FLOYD:
+                return builder.floydCycleDetection();
+            case BRENT:
+                return builder.brentCycleDetection();
+            case NIVASCH:
+                return builder.nivaschCycleDetection();
+            default:
+                return builder.hashMapCycleDetection();
+        }
+    }
+
+    @Benchmark
+    public void iterate(Blackhole blackhole) {
+        for (Integer x : builder().build())
+            blackhole.consume(x);
+    }
+
+    @Benchmark
+    public void iterateInts(Blackhole blackhole) {
+        PrimitiveIterator.OfInt iterator = intBuilder().build().iterator();
+        while (iterator.hasNext())
+            blackhole.consume(iterator.nextInt());
+    }
+
+    @Benchmark
+    public CycleInfo detectCycle() {
+        return builder().detectCycle();
+    }
+}
@@ -0,0 +1,135 @@
+package org.jason5lee.algorithms;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The benchmarks of sorting, selection and discretization
+ * of the boxed and primitive arrays. The arrays are copied in every invocation,
+ * since the operations change them.
+ *
+ * @author Jason Lee(&#x674e;&#x4e1c;&#x6052;)
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SortableArrayBenchmark {
+    @Param({ "1000", "100000" })
+    public int size;
+
+    @Param
+    public Distribution distribution;
+
+    private Integer[] boxed;
+    private int[] ints;
+    private long[] longs;
+    private int[] discretized;
+
+    @Setup
+    public void setup() {
+        boxed = distribution.boxed(size, 42);
+        ints = distribution.ints(size, 42);
+        longs = distribution.longs(size, 42);
+        discretized = new int[size];
+    }
+
+    @Benchmark
+    public Integer[] sortBoxed() {
+        SortableArray<Integer> array = SortableArray.of(boxed.clone());
+        array.sort();
+        return array.getArray();
+    }
+
+    @Benchmark
+    public Integer[] sortBoxedWithComparator() {
+        SortableArray<Integer> array = SortableArray.of(boxed.clone(), Comparator.reverseOrder());
+        array.sort();
+        return array.getArray();
+    }
+
+    @Benchmark
+    public int[] sortInts() {
+        IntSortableArray array = IntSortableArray.of(ints.clone());
+        array.sort();
+        return array.getArray();
+    }
+
+    @Benchmark
+    public int[] sortIntsWithComparator() {
+        IntSortableArray array = IntSortableArray.of(ints.clone(), (a, b) -> Integer.compare(b, a));
+        array.sort();
+        return array.getArray();
+    }
+
+    @Benchmark
+    public int[] radixSortInts() {
+        IntSortableArray array = IntSortableArray.of(ints.clone());
+        array.radixSort();
+        return array.getArray();
+    }
+
+    @Benchmark
+    public long[] sortLongs() {
+        LongSortableArray array = LongSortableArray.of(longs.clone());
+        array.sort();
+        return array.getArray();
+    }
+
+    @Benchmark
+    public Integer partitionAtBoxed() {
+        SortableArray<Integer> array = SortableArray.of(boxed.clone());
+        array.partitionAt(size / 2, SelectionStrategy.INTROSELECT);
+        return array.getArray()[size / 2];
+    }
+
+    @Benchmark
+    public Integer partitionAtBoxedBFPRT() {
+        SortableArray<Integer> array = SortableArray.of(boxed.clone());
+        array.partitionAt(size / 2, SelectionStrategy.BFPRT);
+        return array.getArray()[size / 2];
+    }
+
+    @Benchmark
+    public int partitionAtInts() {
+        IntSortableArray array = IntSortableArray.of(ints.clone());
+        array.partitionAt(size / 2, SelectionStrategy.INTROSELECT);
+        return array.getArray()[size / 2];
+    }
+
+    @Benchmark
+    public int partitionAtIntsBFPRT() {
+        IntSortableArray array = IntSortableArray.of(ints.clone());
+        array.partitionAt(size / 2, SelectionStrategy.BFPRT);
+        return array.getArray()[size / 2];
+    }
+
+    @Benchmark
+    public int[] discretizeBoxed() {
+        return SortableArray.of(boxed).discretize();
+    }
+
+    @Benchmark
+    public int[] discretizeByHashBoxed() {
+        return SortableArray.of(boxed).discretizeByHash(discretized);
+    }
+
+    @Benchmark
+    public int[] discretizeInts() {
+        return IntSortableArray.of(ints).discretize();
+    }
+}
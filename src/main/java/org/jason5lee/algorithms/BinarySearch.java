@@ -1,8 +1,15 @@
 package org.jason5lee.algorithms;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 import java.util.function.DoublePredicate;
 import java.util.function.IntPredicate;
+import java.util.function.LongPredicate;
 
 /**
  * An utility class including some functions that
@@ -42,6 +49,209 @@ public final class BinarySearch {
         return r;
     }
 
+    /**
+     * Find the least long integer n in the half-open interval [l,r)
+     * such that f(n) is true.
+     * The predicate f must be increasing in the range, which means,
+     * for all {@literal a,b in [l,r), a > b}, if f(b) is true, f(a) should also be true.
+     * If f is NOT increasing, the result is undefined.
+     * @param l the left endpoint of the interval (inclusive).
+     * @param r the right endpoint of the interval (exclusive).
+     * @param f the predicate function.
+     * @return the value of n if {@code l < r} and it exists.
+     *         other wise, return the right endpoint r.
+     */
+    public static long findLeastTrueLong(long l, long r, LongPredicate f) {
+        Objects.requireNonNull(f);
+
+        while (l < r) {
+            // r - l may overflow, but it is still right as an unsigned number.
+            long mid = l + ((r - l) >>> 1);
+            if (f.test(mid))
+                r = mid;
+            else
+                l = mid + 1;
+        }
+
+        return r;
+    }
+
+    /**
+     * Find the least long integer n in the half-open interval [l,r)
+     * such that f(n) is true, starting from a hint of the result.
+     * It tests the points at the distances of 1, 2, 4, ... from the hint
+     * until the result is bracketed, and then bisects the bracket,
+     * so f is tested {@code O(log d)} times, where d is the distance from the hint to the result.
+     * The predicate f must be increasing in the range, with the same contract as
+     * {@link #findLeastTrueLong(long, long, LongPredicate)}.
+     * @param l the left endpoint of the interval (inclusive).
+     * @param r the right endpoint of the interval (exclusive).
+     * @param hint the guess of the result, which is clamped into the interval.
+     * @param f the predicate function.
+     * @return the value of n if {@code l < r} and it exists.
+     *         other wise, return the right endpoint r.
+     */
+    public static long gallopLeastTrue(long l, long r, long hint, LongPredicate f) {
+        Objects.requireNonNull(f);
+        if (l >= r)
+            return r;
+
+        long h = Math.max(l, Math.min(hint, r - 1));
+        long step = 1;
+        if (f.test(h)) {
+            // The result is in [l, h]. Gallops to the left with the true point h.
+            while (Long.compareUnsigned(step, h - l) <= 0) {
+                long p = h - step;
+                if (!f.test(p))
+                    return findLeastTrueLong(p + 1, h, f);
+                h = p;
+                step = doubleStep(step);
+            }
+            return findLeastTrueLong(l, h, f);
+        }
+        else {
+            // The result is in (h, r]. Gallops to the right with the false point h.
+            while (Long.compareUnsigned(step, r - h) < 0) {
+                long p = h + step;
+                if (f.test(p))
+                    return findLeastTrueLong(h + 1, p, f);
+                h = p;
+                step = doubleStep(step);
+            }
+            return findLeastTrueLong(h + 1, r, f);
+        }
+    }
+
+    /**
+     * Find the least long integer n not less than l such that f(n) is true,
+     * starting from a hint of the result, which is the same as
+     * {@code gallopLeastTrue(l, Long.MAX_VALUE, hint, f)}.
+     * It is for the search without a known upper end,
+     * and f is tested {@code O(log d)} times, where d is the distance from the hint to the result.
+     * @param l the left endpoint of the interval (inclusive).
+     * @param hint the guess of the result, which is clamped to be not less than l.
+     * @param f the predicate function.
+     * @return the value of n if it exists. other wise, return {@code Long.MAX_VALUE}.
+     */
+    public static long gallopLeastTrue(long l, long hint, LongPredicate f) {
+        return gallopLeastTrue(l, Long.MAX_VALUE, hint, f);
+    }
+
+    // Doubles the unsigned step, saturating at the maximum unsigned long.
+    private static long doubleStep(long step) {
+        return step < 0 ? -1L : step << 1;
+    }
+
+    /**
+     * Find the least integer n in the half-open interval [l,r)
+     * such that f(n) is true, like {@link #findLeastTrue(int, int, IntPredicate)},
+     * and records the predicate evaluations and the elapsed time
+     * as the operation {@code "findLeastTrue"} into the metrics.
+     * @param l the left endpoint of the interval (inclusive).
+     * @param r the right endpoint of the interval (exclusive).
+     * @param f the predicate function.
+     * @param metrics the metrics.
+     * @return the value of n if {@code l < r} and it exists.
+     *         other wise, return the right endpoint r.
+     */
+    public static int findLeastTrue(int l, int r, IntPredicate f, Metrics metrics) {
+        Objects.requireNonNull(f);
+        Objects.requireNonNull(metrics);
+
+        long start = System.nanoTime();
+        int result = findLeastTrue(l, r, metrics.countingInt(f));
+        metrics.record("findLeastTrue", System.nanoTime() - start);
+        return result;
+    }
+
+    /**
+     * Find the least long integer n in the half-open interval [l,r)
+     * such that f(n) is true, like {@link #findLeastTrueLong(long, long, LongPredicate)},
+     * and records the predicate evaluations and the elapsed time
+     * as the operation {@code "findLeastTrueLong"} into the metrics.
+     * @param l the left endpoint of the interval (inclusive).
+     * @param r the right endpoint of the interval (exclusive).
+     * @param f the predicate function.
+     * @param metrics the metrics.
+     * @return the value of n if {@code l < r} and it exists.
+     *         other wise, return the right endpoint r.
+     */
+    public static long findLeastTrueLong(long l, long r, LongPredicate f, Metrics metrics) {
+        Objects.requireNonNull(f);
+        Objects.requireNonNull(metrics);
+
+        long start = System.nanoTime();
+        long result = findLeastTrueLong(l, r, metrics.countingLong(f));
+        metrics.record("findLeastTrueLong", System.nanoTime() - start);
+        return result;
+    }
+
+    /**
+     * Find the least integer n in the half-open interval [l,r)
+     * such that f(n) is true, by testing k evenly spaced points of the interval
+     * in parallel on the executor in every round,
+     * and narrowing the interval to one of the k+1 parts between them.
+     * It takes about {@code log(r-l)/log(k+1)} rounds instead of {@code log2(r-l)},
+     * which helps when every test of f is expensive.
+     * The predicate f must be increasing in the range, with the same contract as
+     * {@link #findLeastTrue(int, int, IntPredicate)}, and must be safe to be tested concurrently.
+     * @param l the left endpoint of the interval (inclusive).
+     * @param r the right endpoint of the interval (exclusive).
+     * @param f the predicate function.
+     * @param k the number of the points tested in every round, which must be positive.
+     * @param executor the executor that tests the points.
+     * @return the value of n if {@code l < r} and it exists.
+     *         other wise, return the right endpoint r.
+     * @throws InterruptedException if interrupted while waiting for the tests.
+     */
+    public static int findLeastTrue(int l, int r, IntPredicate f, int k, ExecutorService executor)
+            throws InterruptedException {
+        Objects.requireNonNull(f);
+        Objects.requireNonNull(executor);
+        if (k <= 0)
+            throw new IllegalArgumentException("k should be a positive number.");
+
+        List<Callable<Boolean>> tests = new ArrayList<>(k);
+        int[] points = new int[k];
+        while (l < r) {
+            long length = (long) r - l;
+            int count = (int) Math.min(k, length);
+            tests.clear();
+            for (int i = 0; i < count; ++i) {
+                int point = (int) (l + length * (i + 1) / (count + 1));
+                points[i] = point;
+                tests.add(() -> f.test(point));
+            }
+
+            List<Future<Boolean>> results = executor.invokeAll(tests);
+            int i = 0;
+            while (i < count && !getResult(results.get(i)))
+                ++i;
+
+            if (i < count)
+                r = points[i];
+            if (i > 0)
+                l = points[i - 1] + 1;
+        }
+
+        return r;
+    }
+
+    // Returns the result of a finished test, rethrowing the exception thrown by the predicate.
+    private static boolean getResult(Future<Boolean> result) throws InterruptedException {
+        try {
+            return result.get();
+        }
+        catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException)
+                throw (RuntimeException) cause;
+            if (cause instanceof Error)
+                throw (Error) cause;
+            throw new AssertionError(cause);
+        }
+    }
+
     /**
      * Find the least real number x in the half-open interval [l,r)
      * such that f(x) is true.
@@ -81,4 +291,43 @@ public final class BinarySearch {
 
         return r;
     }
+
+    /**
+     * Find the least double x in the half-open interval [l,r)
+     * such that f(x) is true, in the order of {@link Double#compare(double, double)}.
+     * Unlike {@link #findLeastTrue(double, double, DoublePredicate, double)},
+     * it bisects the doubles in the interval by their count instead of their values,
+     * so the result is exact, f is tested at most 64 times, and the endpoints may be infinite.
+     * The predicate f must be increasing in the range, which means,
+     * for all {@literal a,b in [l,r), a > b}, if f(b) is true, f(a) should also be true.
+     * If f is NOT increasing, the result is undefined.
+     * @param l the left endpoint of the interval (inclusive).
+     * @param r the right endpoint of the interval (exclusive).
+     * @param f the predicate function.
+     * @return the value of x if {@code l < r} and it exists.
+     *         other wise, return the right endpoint r.
+     */
+    public static double findLeastTrueExact(double l, double r, DoublePredicate f) {
+        Objects.requireNonNull(f);
+
+        if (l != l)
+            throw new IllegalArgumentException("l should not be NaN.");
+
+        if (r != r)
+            throw new IllegalArgumentException("r should not be NaN.");
+
+        long n = findLeastTrueLong(orderedBits(l), orderedBits(r), x -> f.test(fromOrderedBits(x)));
+        return fromOrderedBits(n);
+    }
+
+    // Maps a double to a long in the order of Double.compare.
+    // The adjacent doubles are mapped to the adjacent longs.
+    private static long orderedBits(double x) {
+        long bits = Double.doubleToRawLongBits(x);
+        return bits ^ ((bits >> 63) & Long.MAX_VALUE);
+    }
+
+    private static double fromOrderedBits(long n) {
+        return Double.longBitsToDouble(n ^ ((n >> 63) & Long.MAX_VALUE));
+    }
 }
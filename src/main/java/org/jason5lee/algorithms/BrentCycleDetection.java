@@ -0,0 +1,111 @@
+package org.jason5lee.algorithms;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.function.Function;
+
+// A iteration sequence which stops when repeated element is
+// detected by brent cycle detection. The element at every power of two
+// is saved and compared with the following ones, so the iterated function
+// is applied only once for each element.
+class BrentCycleDetection<T> implements Sequence<T> {
+    private final T startWith;
+    private final Function<T, T> iteratedFunction;
+    // The cycle detected by nth, which is safely published since CycleInfo is immutable.
+    private CycleInfo cycle;
+
+    BrentCycleDetection(T startWith, Function<T, T> iteratedFunction) {
+        assert iteratedFunction != null;
+        this.startWith = startWith;
+        this.iteratedFunction = iteratedFunction;
+    }
+
+    @Override
+    public T nth(long n) {
+        return SequenceBuilder.nth(iteratedFunction, startWith, n, () -> {
+            CycleInfo cycle = this.cycle;
+            if (cycle == null)
+                this.cycle = cycle = detect(startWith, iteratedFunction);
+            return cycle;
+        });
+    }
+
+    public Iterator<T> iterator() {
+        return new Iterator<T>() {
+            T current = startWith;
+            T saved = startWith;
+            long power = 1;
+            long steps;
+            boolean finished;
+
+            @Override
+            public boolean hasNext() {
+                return !finished;
+            }
+
+            @Override
+            public T next() {
+                if (finished)
+                    throw new NoSuchElementException();
+
+                T result = current;
+                current = iteratedFunction.apply(current);
+                ++steps;
+                if (Objects.equals(current, saved))
+                    finished = true;
+                else if (steps == power) {
+                    saved = current;
+                    power <<= 1;
+                    steps = 0;
+                }
+                return result;
+            }
+        };
+    }
+
+    // Finds the cycle length in the same way as the iterator,
+    // then finds the start of the cycle with two pointers of that distance.
+    static <T> CycleInfo detect(T startWith, Function<T, T> f) {
+        assert f != null;
+
+        T saved = startWith;
+        T current = f.apply(startWith);
+        long evaluations = 1;
+        long power = 1;
+        long cycleLength = 1;
+        while (!Objects.equals(current, saved)) {
+            if (cycleLength == power) {
+                saved = current;
+                power <<= 1;
+                cycleLength = 0;
+            }
+            current = f.apply(current);
+            ++evaluations;
+            ++cycleLength;
+        }
+
+        long tailLength = tailLength(startWith, f, cycleLength);
+        return new CycleInfo(tailLength, cycleLength, evaluations + cycleLength + 2 * tailLength);
+    }
+
+    // Finds the start of the cycle of the given length with two pointers of that distance,
+    // which applies the function cycleLength + 2 * tailLength times.
+    static <T> long tailLength(T startWith, Function<T, T> f, long cycleLength) {
+        assert f != null;
+        assert cycleLength > 0;
+
+        T tortoise = startWith;
+        T hare = startWith;
+        for (long i = 0; i < cycleLength; ++i)
+            hare = f.apply(hare);
+
+        long tailLength = 0;
+        while (!Objects.equals(tortoise, hare)) {
+            tortoise = f.apply(tortoise);
+            hare = f.apply(hare);
+            ++tailLength;
+        }
+        return tailLength;
+    }
+}
@@ -0,0 +1,130 @@
+package org.jason5lee.algorithms;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.Function;
+
+// A sequence which caches the elements of another sequence in chunks,
+// so the iterators replay the computed elements instead of applying the function again.
+// The elements are computed lazily by a single iterator of the source sequence,
+// which also decides where the sequence ends. When more than the maximum number
+// of elements are cached, the oldest loaded chunk is evicted, and it's recomputed
+// from its first element, which is always kept, when it's needed again.
+// At least two chunks are kept, so that the chunk being computed
+// doesn't take the only place of the chunk being replayed.
+// All the accesses are synchronized, so the iterators can be used by different threads.
+class CachedSequence<T> implements Sequence<T> {
+    private static final int CHUNK_SHIFT = 10;
+    private static final int CHUNK_SIZE = 1 << CHUNK_SHIFT;
+
+    private final Function<T, T> f;
+    private final Sequence<T> sourceSequence;
+    private final Iterator<T> source;
+    private final long maxChunks;
+    // The chunks of the elements, which are null if evicted.
+    private final ArrayList<Object[]> chunks = new ArrayList<>();
+    // The first element of every chunk.
+    private final ArrayList<T> seeds = new ArrayList<>();
+    // The indices of the chunks in memory, from the oldest loaded one.
+    private final ArrayDeque<Integer> loaded = new ArrayDeque<>();
+    private long computed;
+
+    CachedSequence(Sequence<T> source, Function<T, T> f, long maxCached) {
+        assert source != null;
+        assert f != null;
+        assert maxCached > 0;
+
+        this.f = f;
+        this.sourceSequence = source;
+        this.source = source.iterator();
+        this.maxChunks = Math.max(2, maxCached >>> CHUNK_SHIFT);
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+        return new Iterator<T>() {
+            long index;
+
+            @Override
+            public boolean hasNext() {
+                return has(index);
+            }
+
+            @Override
+            public T next() {
+                if (!has(index))
+                    throw new NoSuchElementException();
+                return get(index++);
+            }
+        };
+    }
+
+    // Reads the computed element from the cache, or gets it from the source sequence
+    // without computing the elements before it.
+    @Override
+    public T nth(long n) {
+        synchronized (this) {
+            if (0 <= n && n < computed)
+                return get(n);
+        }
+        return sourceSequence.nth(n);
+    }
+
+    // Returns whether the sequence has the element at the index, computing up to it if needed.
+    private synchronized boolean has(long index) {
+        while (computed <= index && source.hasNext()) {
+            T value = source.next();
+            int offset = (int) (computed & (CHUNK_SIZE - 1));
+            if (offset == 0) {
+                seeds.add(value);
+                chunks.add(new Object[CHUNK_SIZE]);
+                load(chunks.size() - 1);
+            }
+            chunks.get(chunks.size() - 1)[offset] = value;
+            ++computed;
+        }
+        return index < computed;
+    }
+
+    @SuppressWarnings("unchecked")
+    private synchronized T get(long index) {
+        assert index < computed;
+
+        int chunkIndex = (int) (index >>> CHUNK_SHIFT);
+        Object[] chunk = chunks.get(chunkIndex);
+        if (chunk == null)
+            chunk = recompute(chunkIndex);
+        return (T) chunk[(int) (index & (CHUNK_SIZE - 1))];
+    }
+
+    // Recomputes the evicted chunk from its first element.
+    private Object[] recompute(int chunkIndex) {
+        assert chunkIndex < chunks.size() - 1;
+
+        Object[] chunk = new Object[CHUNK_SIZE];
+        T value = seeds.get(chunkIndex);
+        chunk[0] = value;
+        for (int i = 1; i < CHUNK_SIZE; ++i) {
+            value = f.apply(value);
+            chunk[i] = value;
+        }
+        chunks.set(chunkIndex, chunk);
+        load(chunkIndex);
+        return chunk;
+    }
+
+    // Records the chunk as loaded, and evicts the oldest ones beyond the maximum.
+    // Neither the loaded chunk nor the last chunk, which is still being computed, is evicted.
+    private void load(int chunkIndex) {
+        loaded.addLast(chunkIndex);
+        while (loaded.size() > maxChunks) {
+            int oldest = loaded.pollFirst();
+            if (oldest == chunkIndex || oldest == chunks.size() - 1)
+                loaded.addLast(oldest);
+            else
+                chunks.set(oldest, null);
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package org.jason5lee.algorithms;
+
+/**
+ * The structure of the cycle of an iteration sequence
+ * {@code x0, f(x0), f(f(x0)), ...}, detected by {@link SequenceBuilder#detectCycle()}.
+ * The first repeated element is at the index {@code tailLength + cycleLength},
+ * which equals the element at the index {@code tailLength}.
+ *
+ * @author Jason Lee(&#x674e;&#x4e1c;&#x6052;)
+ */
+public final class CycleInfo {
+    private final long tailLength;
+    private final long cycleLength;
+    private final long evaluations;
+
+    CycleInfo(long tailLength, long cycleLength, long evaluations) {
+        assert tailLength >= 0;
+        assert cycleLength > 0;
+        assert evaluations >= 0;
+
+        this.tailLength = tailLength;
+        this.cycleLength = cycleLength;
+        this.evaluations = evaluations;
+    }
+
+    /**
+     * Get the length of the tail before the cycle, which is usually denoted by &mu;.
+     * It's also the index of the first element in the cycle.
+     * @return the tail length.
+     */
+    public long getTailLength() {
+        return tailLength;
+    }
+
+    /**
+     * Get the length of the cycle, which is usually denoted by &lambda;.
+     * @return the cycle length.
+     */
+    public long getCycleLength() {
+        return cycleLength;
+    }
+
+    /**
+     * Get the number of the times that the iterated function was applied
+     * to detect the cycle.
+     * @return the number of the evaluations.
+     */
+    public long getEvaluations() {
+        return evaluations;
+    }
+
+    // Returns the least index of the element that equals the one at the index n.
+    long periodicIndex(long n) {
+        assert n >= 0;
+        return n < tailLength + cycleLength ? n : tailLength + (n - tailLength) % cycleLength;
+    }
+
+    @Override
+    public String toString() {
+        return "CycleInfo{tailLength=" + tailLength +
+                ", cycleLength=" + cycleLength +
+                ", evaluations=" + evaluations + '}';
+    }
+}
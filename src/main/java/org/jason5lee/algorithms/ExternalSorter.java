@@ -0,0 +1,429 @@
+package org.jason5lee.algorithms;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.PriorityQueue;
+
+/**
+ * An external merge sorter for the files of fixed-width records,
+ * which can be larger than the heap.
+ * It reads the records from the input channel into runs of the specified length,
+ * sorts every run as a {@link SortableArray} with the comparator,
+ * spills the runs into temporary files and merges them into the output channel,
+ * merging at most the specified number of runs at a time.
+ *
+ * @param <T> The type of the records.
+ *
+ * @author Jason Lee(&#x674e;&#x4e1c;&#x6052;)
+ */
+public class ExternalSorter<T> {
+    /**
+     * The codec converting between the records and their fixed-width binary forms.
+     * @param <T> The type of the records.
+     */
+    public interface RecordCodec<T> {
+        /**
+         * Returns the number of bytes of every record.
+         * @return the size of a record, which is positive.
+         */
+        int recordSize();
+
+        /**
+         * Reads a record from the current position of the buffer.
+         * At least {@link #recordSize()} bytes are remaining in the buffer.
+         * @param buffer the buffer.
+         * @return the record.
+         */
+        T read(ByteBuffer buffer);
+
+        /**
+         * Writes a record at the current position of the buffer.
+         * At least {@link #recordSize()} bytes are remaining in the buffer.
+         * @param buffer the buffer.
+         * @param record the record.
+         */
+        void write(ByteBuffer buffer, T record);
+    }
+
+    /**
+     * The listener that is notified of the progress of the sort.
+     * All the methods do nothing by default.
+     */
+    public interface Listener {
+        /**
+         * Called after a run is written into a temporary file.
+         * @param bytes the number of bytes of the run.
+         */
+        default void onSpill(long bytes) {}
+
+        /**
+         * Called after a merge pass.
+         * The final pass, which merges into the output, is also counted.
+         * @param pass the number of the pass, starting from 1.
+         * @param inputRuns the number of the runs before the pass.
+         * @param outputRuns the number of the runs after the pass.
+         */
+        default void onMergePass(int pass, int inputRuns, int outputRuns) {}
+    }
+
+    private static final Listener NO_LISTENER = new Listener() {};
+
+    private final RecordCodec<T> codec;
+    private final Comparator<T> comparator;
+    private int runLength = 1 << 20;
+    private int bufferSize = 1 << 16;
+    private int fanIn = 64;
+    private Path tempDirectory;
+    private Listener listener = NO_LISTENER;
+
+    private ExternalSorter(RecordCodec<T> codec, Comparator<T> comparator) {
+        assert codec != null;
+        assert comparator != null;
+
+        this.codec = codec;
+        this.comparator = comparator;
+    }
+
+    /**
+     * Returns the sorter of the records of the specified codec and comparator.
+     * @param codec the codec of the records.
+     * @param comparator the comparator of the records.
+     * @param <U> the type of the records.
+     * @return the sorter.
+     * @throws NullPointerException if either codec or comparator is null.
+     * @throws IllegalArgumentException if the record size of the codec is not positive.
+     */
+    public static <U> ExternalSorter<U> of(RecordCodec<U> codec, Comparator<U> comparator) {
+        Objects.requireNonNull(codec);
+        Objects.requireNonNull(comparator);
+        if (codec.recordSize() <= 0)
+            throw new IllegalArgumentException("The record size should be positive.");
+
+        return new ExternalSorter<>(codec, comparator);
+    }
+
+    /**
+     * Specify the number of records sorted in the heap at a time.
+     * Without specification, the default run length is 2^20.
+     * @param runLength the run length.
+     * @return the sorter itself.
+     * @throws IllegalArgumentException if the run length is not positive.
+     */
+    public ExternalSorter<T> runLength(int runLength) {
+        if (runLength <= 0)
+            throw new IllegalArgumentException("The run length should be positive.");
+
+        this.runLength = runLength;
+        return this;
+    }
+
+    /**
+     * Specify the size of every I/O buffer in bytes.
+     * It's rounded down to a multiple of the record size, but no less than one record.
+     * Without specification, the default buffer size is 64 KiB.
+     * @param bufferSize the buffer size.
+     * @return the sorter itself.
+     * @throws IllegalArgumentException if the buffer size is not positive.
+     */
+    public ExternalSorter<T> bufferSize(int bufferSize) {
+        if (bufferSize <= 0)
+            throw new IllegalArgumentException("The buffer size should be positive.");
+
+        this.bufferSize = bufferSize;
+        return this;
+    }
+
+    /**
+     * Specify the maximum number of runs merged at a time.
+     * Without specification, the default fan-in is 64.
+     * @param fanIn the fan-in.
+     * @return the sorter itself.
+     * @throws IllegalArgumentException if the fan-in is less than 2.
+     */
+    public ExternalSorter<T> fanIn(int fanIn) {
+        if (fanIn < 2)
+            throw new IllegalArgumentException("The fan-in should be at least 2.");
+
+        this.fanIn = fanIn;
+        return this;
+    }
+
+    /**
+     * Specify the directory of the temporary files.
+     * Without specification, the default temporary-file directory is used.
+     * @param tempDirectory the directory.
+     * @return the sorter itself.
+     * @throws NullPointerException if the directory is null.
+     */
+    public ExternalSorter<T> tempDirectory(Path tempDirectory) {
+        Objects.requireNonNull(tempDirectory);
+        this.tempDirectory = tempDirectory;
+        return this;
+    }
+
+    /**
+     * Specify the listener of the progress.
+     * @param listener the listener.
+     * @return the sorter itself.
+     * @throws NullPointerException if the listener is null.
+     */
+    public ExternalSorter<T> listener(Listener listener) {
+        Objects.requireNonNull(listener);
+        this.listener = listener;
+        return this;
+    }
+
+    /**
+     * Sort the records of the input file into the output file.
+     * The output file is created or truncated.
+     * @param input the input file.
+     * @param output the output file, which must be different from the input.
+     * @return the number of the records.
+     * @throws NullPointerException if either input or output is null.
+     * @throws IllegalArgumentException if the output is the same file as the input.
+     * @throws IOException if an I/O error occurs, or the size of the input
+     *                     is not a multiple of the record size.
+     */
+    public long sort(Path input, Path output) throws IOException {
+        Objects.requireNonNull(input);
+        Objects.requireNonNull(output);
+        // Truncating the output would destroy the input before it's read.
+        if (Files.exists(output) && Files.isSameFile(input, output))
+            throw new IllegalArgumentException("The output is the same file as the input.");
+
+        try (FileChannel in = FileChannel.open(input, StandardOpenOption.READ);
+             FileChannel out = FileChannel.open(output, StandardOpenOption.WRITE,
+                     StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            return sort(in, out);
+        }
+    }
+
+    /**
+     * Sort the records read from the input channel until the end,
+     * and write them into the output channel.
+     * Neither of the channels is closed.
+     * @param input the input channel.
+     * @param output the output channel.
+     * @return the number of the records.
+     * @throws NullPointerException if either input or output is null.
+     * @throws IOException if an I/O error occurs, or the size of the input
+     *                     is not a multiple of the record size.
+     */
+    public long sort(FileChannel input, FileChannel output) throws IOException {
+        Objects.requireNonNull(input);
+        Objects.requireNonNull(output);
+
+        // All the temporary files, which are deleted at the end.
+        List<Path> tempFiles = new ArrayList<>();
+        try {
+            List<Path> runs = new ArrayList<>();
+            long count = 0;
+            ByteBuffer buffer = allocateBuffer();
+            buffer.flip();
+            // The run buffer is no longer than the rest of the input, so a small input
+            // doesn't allocate the whole run length.
+            long estimated = Math.max(input.size() - input.position(), 0) / codec.recordSize();
+            @SuppressWarnings("unchecked")
+            T[] run = (T[]) new Object[(int) Math.max(Math.min(runLength, estimated), 1)];
+            for (;;) {
+                int length = readRun(input, buffer, run);
+                count += length;
+                boolean more = length == run.length && fill(input, buffer);
+                if (!more && runs.isEmpty()) {
+                    // All the records fit in one run.
+                    writeRun(output, sortRun(run, length));
+                    return count;
+                }
+                if (length > 0) {
+                    Path path = createTempFile(tempFiles);
+                    runs.add(path);
+                    try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+                        writeRun(channel, sortRun(run, length));
+                    }
+                    listener.onSpill((long) length * codec.recordSize());
+                }
+                if (!more)
+                    break;
+            }
+
+            merge(runs, output, tempFiles);
+            return count;
+        }
+        finally {
+            for (Path path : tempFiles)
+                Files.deleteIfExists(path);
+        }
+    }
+
+    private ByteBuffer allocateBuffer() {
+        int recordSize = codec.recordSize();
+        return ByteBuffer.allocate(Math.max(bufferSize / recordSize, 1) * recordSize);
+    }
+
+    private Path createTempFile(List<Path> tempFiles) throws IOException {
+        Path path = tempDirectory == null
+                ? Files.createTempFile("run", ".tmp")
+                : Files.createTempFile(tempDirectory, "run", ".tmp");
+        tempFiles.add(path);
+        return path;
+    }
+
+    // Makes sure a whole record is remaining in the buffer, refilling it from the channel if needed.
+    // Returns false at the end of the channel.
+    private boolean fill(FileChannel channel, ByteBuffer buffer) throws IOException {
+        if (buffer.remaining() >= codec.recordSize())
+            return true;
+
+        buffer.compact();
+        while (buffer.position() < codec.recordSize()) {
+            if (channel.read(buffer) < 0) {
+                if (buffer.position() != 0)
+                    throw new IOException("The size of the input is not a multiple of the record size.");
+                buffer.flip();
+                return false;
+            }
+        }
+        buffer.flip();
+        return true;
+    }
+
+    private T read(ByteBuffer buffer) {
+        int position = buffer.position();
+        T record = codec.read(buffer);
+        buffer.position(position + codec.recordSize());
+        return record;
+    }
+
+    // Reads at most run.length records into run and returns the number of them.
+    private int readRun(FileChannel channel, ByteBuffer buffer, T[] run) throws IOException {
+        int length = 0;
+        while (length < run.length && fill(channel, buffer))
+            run[length++] = read(buffer);
+        return length;
+    }
+
+    private T[] sortRun(T[] run, int length) {
+        T[] sorted = length == run.length ? run : Arrays.copyOf(run, length);
+        SortableArray.of(sorted, comparator).sort();
+        return sorted;
+    }
+
+    private void writeRun(FileChannel channel, T[] run) throws IOException {
+        ByteBuffer buffer = allocateBuffer();
+        for (T record : run)
+            write(channel, buffer, record);
+        flush(channel, buffer);
+    }
+
+    private void write(FileChannel channel, ByteBuffer buffer, T record) throws IOException {
+        if (buffer.remaining() < codec.recordSize())
+            flush(channel, buffer);
+
+        int position = buffer.position();
+        codec.write(buffer, record);
+        buffer.position(position + codec.recordSize());
+    }
+
+    private static void flush(FileChannel channel, ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining())
+            channel.write(buffer);
+        buffer.clear();
+    }
+
+    // Merges the runs in passes until at most fanIn runs are left,
+    // then merges them into the output.
+    // The runs are deleted as soon as they are merged.
+    private void merge(List<Path> runs, FileChannel output, List<Path> tempFiles) throws IOException {
+        int pass = 0;
+        while (runs.size() > fanIn) {
+            List<Path> merged = new ArrayList<>();
+            for (int i = 0; i < runs.size(); i += fanIn) {
+                List<Path> group = runs.subList(i, Math.min(i + fanIn, runs.size()));
+                if (group.size() == 1) {
+                    merged.add(group.get(0));
+                    continue;
+                }
+
+                Path path = createTempFile(tempFiles);
+                merged.add(path);
+                long bytes;
+                try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+                    bytes = mergeRuns(group, channel);
+                }
+                for (Path run : group)
+                    Files.delete(run);
+                listener.onSpill(bytes);
+            }
+            listener.onMergePass(++pass, runs.size(), merged.size());
+            runs = merged;
+        }
+
+        mergeRuns(runs, output);
+        listener.onMergePass(++pass, runs.size(), 1);
+    }
+
+    // A sorted run being merged.
+    private final class RunReader {
+        final int index;
+        final FileChannel channel;
+        final ByteBuffer buffer = allocateBuffer();
+        T head;
+
+        RunReader(int index, FileChannel channel) {
+            this.index = index;
+            this.channel = channel;
+            buffer.flip();
+        }
+
+        boolean advance() throws IOException {
+            if (!fill(channel, buffer))
+                return false;
+            head = read(buffer);
+            return true;
+        }
+    }
+
+    // Merges the runs into the channel, and returns the number of bytes written.
+    // The records from the earlier runs go first when they are equal.
+    private long mergeRuns(List<Path> runs, FileChannel output) throws IOException {
+        List<RunReader> readers = new ArrayList<>();
+        try {
+            PriorityQueue<RunReader> queue = new PriorityQueue<>(runs.size(), (a, b) -> {
+                int cmp = comparator.compare(a.head, b.head);
+                return cmp != 0 ? cmp : Integer.compare(a.index, b.index);
+            });
+            for (Path path : runs) {
+                RunReader reader = new RunReader(readers.size(), FileChannel.open(path, StandardOpenOption.READ));
+                readers.add(reader);
+                if (reader.advance())
+                    queue.add(reader);
+            }
+
+            long count = 0;
+            ByteBuffer buffer = allocateBuffer();
+            while (!queue.isEmpty()) {
+                RunReader reader = queue.poll();
+                write(output, buffer, reader.head);
+                ++count;
+                if (reader.advance())
+                    queue.add(reader);
+            }
+            flush(output, buffer);
+            return count * codec.recordSize();
+        }
+        finally {
+            for (RunReader reader : readers)
+                reader.channel.close();
+        }
+    }
+}
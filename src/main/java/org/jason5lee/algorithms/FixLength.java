@@ -2,10 +2,12 @@ package org.jason5lee.algorithms;
 
 import java.util.Iterator;
 import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.function.Consumer;
 import java.util.function.Function;
 
 // A iteration sequence with given length.
-class FixLength<T> implements Iterable<T> {
+class FixLength<T> implements Sequence<T> {
     private final T startWith;
     private final Function<T, T> f;
     private int length;
@@ -41,4 +43,63 @@ class FixLength<T> implements Iterable<T> {
             }
         };
     }
+
+    @Override
+    public T nth(long n) {
+        if (n < 0 || n >= length)
+            throw new IndexOutOfBoundsException("The index is out of the sequence.");
+        return SequenceBuilder.applyTimes(f, startWith, n);
+    }
+
+    @Override
+    public Spliterator<T> spliterator() {
+        return new FixLengthSpliterator(startWith, length);
+    }
+
+    // A spliterator of the rest elements starting from the current one.
+    // If the function is jumpable, the prefix is split off by jumping over it.
+    private class FixLengthSpliterator implements Spliterator<T> {
+        private T current;
+        private int rest;
+
+        FixLengthSpliterator(T current, int rest) {
+            this.current = current;
+            this.rest = rest;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super T> action) {
+            if (rest <= 0)
+                return false;
+
+            T result = current;
+            // Doesn't apply the function after the last element.
+            if (--rest > 0)
+                current = f.apply(current);
+            action.accept(result);
+            return true;
+        }
+
+        @Override
+        public Spliterator<T> trySplit() {
+            if (!(f instanceof JumpableFunction) || rest < 2)
+                return null;
+
+            int half = rest >>> 1;
+            Spliterator<T> prefix = new FixLengthSpliterator(current, half);
+            current = ((JumpableFunction<T>) f).jump(current, half);
+            rest -= half;
+            return prefix;
+        }
+
+        @Override
+        public long estimateSize() {
+            return rest;
+        }
+
+        @Override
+        public int characteristics() {
+            return ORDERED | SIZED | SUBSIZED | IMMUTABLE;
+        }
+    }
 }
@@ -2,13 +2,16 @@ package org.jason5lee.algorithms;
 
 import java.util.Iterator;
 import java.util.NoSuchElementException;
+import java.util.Objects;
 import java.util.function.Function;
 
 // A iteration sequence which stops when repeated element is
 // detected by floyd cycle detection.
-class FloydCycleDetection<T> implements Iterable<T> {
+class FloydCycleDetection<T> implements Sequence<T> {
     private final T startWith;
     private final Function<T, T> iteratedFunction;
+    // The cycle detected by nth, which is safely published since CycleInfo is immutable.
+    private CycleInfo cycle;
 
     FloydCycleDetection(T startWith, Function<T, T> iteratedFunction) {
         assert iteratedFunction != null;
@@ -16,6 +19,16 @@ class FloydCycleDetection<T> implements Iterable<T> {
         this.iteratedFunction = iteratedFunction;
     }
 
+    @Override
+    public T nth(long n) {
+        return SequenceBuilder.nth(iteratedFunction, startWith, n, () -> {
+            CycleInfo cycle = this.cycle;
+            if (cycle == null)
+                this.cycle = cycle = detect(startWith, iteratedFunction);
+            return cycle;
+        });
+    }
+
     public Iterator<T> iterator() {
         return new Iterator<T>() {
             T current = startWith;
@@ -48,4 +61,39 @@ class FloydCycleDetection<T> implements Iterable<T> {
             }
         };
     }
+
+    // Detects the cycle by meeting the tortoise and the hare in the cycle,
+    // then finds the start of the cycle and walks around it.
+    static <T> CycleInfo detect(T startWith, Function<T, T> f) {
+        assert f != null;
+
+        T tortoise = f.apply(startWith);
+        T hare = f.apply(tortoise);
+        long evaluations = 2;
+        while (!Objects.equals(tortoise, hare)) {
+            tortoise = f.apply(tortoise);
+            hare = f.apply(f.apply(hare));
+            evaluations += 3;
+        }
+
+        long tailLength = 0;
+        tortoise = startWith;
+        while (!Objects.equals(tortoise, hare)) {
+            tortoise = f.apply(tortoise);
+            hare = f.apply(hare);
+            evaluations += 2;
+            ++tailLength;
+        }
+
+        long cycleLength = 1;
+        hare = f.apply(tortoise);
+        ++evaluations;
+        while (!Objects.equals(tortoise, hare)) {
+            hare = f.apply(hare);
+            ++evaluations;
+            ++cycleLength;
+        }
+
+        return new CycleInfo(tailLength, cycleLength, evaluations);
+    }
 }
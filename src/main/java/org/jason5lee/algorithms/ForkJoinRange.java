@@ -0,0 +1,42 @@
+package org.jason5lee.algorithms;
+
+import java.util.concurrent.RecursiveAction;
+
+// A fork-join action that splits the index range [from, to) in halves
+// until it is no longer than the threshold, then runs the body on each part.
+final class ForkJoinRange extends RecursiveAction {
+    private static final long serialVersionUID = 1L;
+
+    @FunctionalInterface
+    interface Body {
+        void run(int from, int to);
+    }
+
+    private final int from;
+    private final int to;
+    private final int threshold;
+    private final Body body;
+
+    ForkJoinRange(int from, int to, int threshold, Body body) {
+        assert from <= to;
+        assert threshold > 0;
+        assert body != null;
+
+        this.from = from;
+        this.to = to;
+        this.threshold = threshold;
+        this.body = body;
+    }
+
+    @Override
+    protected void compute() {
+        if (to - from <= threshold) {
+            body.run(from, to);
+            return;
+        }
+
+        int mid = (from + to) >>> 1;
+        invokeAll(new ForkJoinRange(from, mid, threshold, body),
+                  new ForkJoinRange(mid, to, threshold, body));
+    }
+}
@@ -1,5 +1,6 @@
 package org.jason5lee.algorithms;
 
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.NoSuchElementException;
@@ -7,9 +8,11 @@ import java.util.function.Function;
 
 // A iteration sequence which stops when repeated element is
 // detected using HashMap.
-class HashSetCycleDetection<T> implements Iterable<T> {
+class HashSetCycleDetection<T> implements Sequence<T> {
     private final Function<T, T> iteratedFunction;
     private final T init;
+    // The cycle detected by nth, which is safely published since CycleInfo is immutable.
+    private CycleInfo cycle;
 
     HashSetCycleDetection(T init, Function<T, T> iteratedFunction) {
         assert iteratedFunction != null;
@@ -17,6 +20,16 @@ class HashSetCycleDetection<T> implements Iterable<T> {
         this.init = init;
     }
 
+    @Override
+    public T nth(long n) {
+        return SequenceBuilder.nth(iteratedFunction, init, n, () -> {
+            CycleInfo cycle = this.cycle;
+            if (cycle == null)
+                this.cycle = cycle = detect(init, iteratedFunction);
+            return cycle;
+        });
+    }
+
     @Override
     public Iterator<T> iterator() {
         return new Iterator<T>() {
@@ -39,4 +52,21 @@ class HashSetCycleDetection<T> implements Iterable<T> {
             }
         };
     }
+
+    // Records the index of every element until one is repeated,
+    // so the function is applied once for each distinct element.
+    static <T> CycleInfo detect(T init, Function<T, T> f) {
+        assert f != null;
+
+        HashMap<T, Long> indices = new HashMap<>();
+        T current = init;
+        long index = 0;
+        Long first;
+        while ((first = indices.putIfAbsent(current, index)) == null) {
+            current = f.apply(current);
+            ++index;
+        }
+
+        return new CycleInfo(first, index - first, index);
+    }
 }
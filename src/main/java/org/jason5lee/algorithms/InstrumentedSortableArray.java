@@ -0,0 +1,100 @@
+package org.jason5lee.algorithms;
+
+import java.util.Comparator;
+
+// A sortable array which records its work into the metrics.
+// The comparisons are counted by wrapping the comparator, the swaps by overriding swap,
+// and the elapsed time by overriding the public operations.
+// Only the outermost operation is timed when one calls another.
+// It's a separate class, so the plain SortableArray runs the uninstrumented code.
+final class InstrumentedSortableArray<T> extends SortableArray<T> {
+    private final Metrics metrics;
+    // The depth of the nested operations.
+    private int depth;
+
+    InstrumentedSortableArray(T[] array, Comparator<T> comparator, Metrics metrics) {
+        super(array, metrics.counting(comparator));
+        this.metrics = metrics;
+    }
+
+    private long begin() {
+        return depth++ == 0 ? System.nanoTime() : 0;
+    }
+
+    private void end(String operation, long start) {
+        if (--depth == 0)
+            metrics.record(operation, System.nanoTime() - start);
+    }
+
+    @Override
+    public void swap(int p, int q) {
+        metrics.countSwap();
+        super.swap(p, q);
+    }
+
+    @Override
+    public void sort() {
+        long start = begin();
+        try {
+            super.sort();
+        }
+        finally {
+            end("sort", start);
+        }
+    }
+
+    @Override
+    public int[] discretize() {
+        long start = begin();
+        try {
+            return super.discretize();
+        }
+        finally {
+            end("discretize", start);
+        }
+    }
+
+    @Override
+    public int[] discretizeByIndexSort(int[] result) {
+        long start = begin();
+        try {
+            return super.discretizeByIndexSort(result);
+        }
+        finally {
+            end("discretizeByIndexSort", start);
+        }
+    }
+
+    @Override
+    public int[] discretizeByHash(int[] result) {
+        long start = begin();
+        try {
+            return super.discretizeByHash(result);
+        }
+        finally {
+            end("discretizeByHash", start);
+        }
+    }
+
+    @Override
+    public void partitionAt(int k) {
+        long start = begin();
+        try {
+            super.partitionAt(k);
+        }
+        finally {
+            end("partitionAt", start);
+        }
+    }
+
+    @Override
+    public void partitionAt(int k, SelectionStrategy strategy) {
+        long start = begin();
+        try {
+            super.partitionAt(k, strategy);
+        }
+        finally {
+            end("partitionAt", start);
+        }
+    }
+}
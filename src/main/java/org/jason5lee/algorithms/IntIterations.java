@@ -0,0 +1,182 @@
+package org.jason5lee.algorithms;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.function.IntUnaryOperator;
+
+// The iteration sequences of int values, with the same strategies
+// as the generic ones, which never box the values.
+final class IntIterations {
+    // Suppresses default constructor, ensuring non-instantiability.
+    private IntIterations() {
+        throw new AssertionError();
+    }
+
+    // A iteration sequence with given length.
+    static IntSequence fixLength(int startWith, IntUnaryOperator f, int length) {
+        assert f != null;
+        assert length >= 0;
+
+        return () -> new PrimitiveIterator.OfInt() {
+            int current = startWith;
+            int rest = length;
+
+            @Override
+            public boolean hasNext() {
+                return rest > 0;
+            }
+
+            @Override
+            public int nextInt() {
+                if (rest <= 0)
+                    throw new NoSuchElementException();
+
+                int result = current;
+                current = f.applyAsInt(current);
+                --rest;
+                return result;
+            }
+        };
+    }
+
+    // A iteration sequence which stops when repeated element is
+    // detected by floyd cycle detection.
+    static IntSequence floyd(int startWith, IntUnaryOperator f) {
+        assert f != null;
+
+        return () -> new PrimitiveIterator.OfInt() {
+            int current = startWith;
+            int halfPace = startWith;
+            int status;
+
+            @Override
+            public boolean hasNext() {
+                return status != -1;
+            }
+
+            @Override
+            public int nextInt() {
+                int result = current;
+                switch (status) {
+                    case 0:
+                        current = f.applyAsInt(current);
+                        status = 1;
+                        break;
+                    case 1:
+                        current = f.applyAsInt(current);
+                        halfPace = f.applyAsInt(halfPace);
+                        status = current == halfPace ? -1 : 0;
+                        break;
+                    default:
+                        throw new NoSuchElementException();
+                }
+                return result;
+            }
+        };
+    }
+
+    // A iteration sequence which stops when repeated element is
+    // detected by brent cycle detection.
+    static IntSequence brent(int startWith, IntUnaryOperator f) {
+        assert f != null;
+
+        return () -> new PrimitiveIterator.OfInt() {
+            int current = startWith;
+            int saved = startWith;
+            long power = 1;
+            long steps;
+            boolean finished;
+
+            @Override
+            public boolean hasNext() {
+                return !finished;
+            }
+
+            @Override
+            public int nextInt() {
+                if (finished)
+                    throw new NoSuchElementException();
+
+                int result = current;
+                current = f.applyAsInt(current);
+                ++steps;
+                if (current == saved)
+                    finished = true;
+                else if (steps == power) {
+                    saved = current;
+                    power <<= 1;
+                    steps = 0;
+                }
+                return result;
+            }
+        };
+    }
+
+    // A iteration sequence which stops when repeated element is
+    // detected by nivasch stack algorithm, in the natural order of the values.
+    static IntSequence nivasch(int startWith, IntUnaryOperator f) {
+        assert f != null;
+
+        return () -> new PrimitiveIterator.OfInt() {
+            int[] stack = new int[16];
+            int size;
+            int current = startWith;
+            boolean finished;
+
+            {
+                stack[size++] = startWith;
+            }
+
+            @Override
+            public boolean hasNext() {
+                return !finished;
+            }
+
+            @Override
+            public int nextInt() {
+                if (finished)
+                    throw new NoSuchElementException();
+
+                int result = current;
+                current = f.applyAsInt(current);
+                while (size > 0 && stack[size - 1] > current)
+                    --size;
+                if (size > 0 && stack[size - 1] == current)
+                    finished = true;
+                else {
+                    if (size == stack.length)
+                        stack = Arrays.copyOf(stack, size * 2);
+                    stack[size++] = current;
+                }
+                return result;
+            }
+        };
+    }
+
+    // A iteration sequence which stops when repeated element is
+    // detected using a primitive hash set.
+    static IntSequence hashSet(int startWith, IntUnaryOperator f) {
+        assert f != null;
+
+        return () -> new PrimitiveIterator.OfInt() {
+            final IntHashSet visited = new IntHashSet();
+            int current = startWith;
+
+            @Override
+            public boolean hasNext() {
+                return !visited.contains(current);
+            }
+
+            @Override
+            public int nextInt() {
+                if (!visited.add(current))
+                    throw new NoSuchElementException();
+
+                int result = current;
+                current = f.applyAsInt(current);
+                return result;
+            }
+        };
+    }
+}
@@ -0,0 +1,39 @@
+package org.jason5lee.algorithms;
+
+import java.util.PrimitiveIterator;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.IntStream;
+import java.util.stream.StreamSupport;
+
+/**
+ * A sequence of int values built by {@link IntSequenceBuilder},
+ * which iterates the values without boxing.
+ *
+ * @author Jason Lee(&#x674e;&#x4e1c;&#x6052;)
+ */
+public interface IntSequence extends Iterable<Integer> {
+    /**
+     * Returns a new iterator of the values, starting from the first one.
+     * @return the iterator.
+     */
+    @Override
+    PrimitiveIterator.OfInt iterator();
+
+    /**
+     * Returns a new spliterator of the values, starting from the first one.
+     * @return the spliterator.
+     */
+    @Override
+    default Spliterator.OfInt spliterator() {
+        return Spliterators.spliteratorUnknownSize(iterator(), Spliterator.ORDERED);
+    }
+
+    /**
+     * Returns a new sequential stream of the values.
+     * @return the stream.
+     */
+    default IntStream stream() {
+        return StreamSupport.intStream(spliterator(), false);
+    }
+}
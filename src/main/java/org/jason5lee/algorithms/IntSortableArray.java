@@ -0,0 +1,556 @@
+package org.jason5lee.algorithms;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * A wrapper class containing an array of {@code int} and an optional comparator.
+ * It offers the same methods as {@link SortableArray} but works
+ * directly on the primitive array, so the elements are never boxed.
+ * Without a comparator, the elements are ordered by {@link Integer#compare(int, int)}.
+ *
+ * @author Jason Lee(&#x674e;&#x4e1c;&#x6052;)
+ */
+public class IntSortableArray {
+    // Below this length the merge sort switches to insertion sort.
+    private static final int INSERTION_SORT_THRESHOLD = 7;
+    // Below this length the selection sorts the range by insertion sort.
+    private static final int SELECTION_SORT_THRESHOLD = 16;
+    // The number of the consecutive rounds in which the range doesn't shrink to 3/4,
+    // before the introselect chooses the pivot by the median of medians.
+    private static final int INTROSELECT_STALLED_ROUNDS = 2;
+
+    private int[] array;
+    private IntComparator comparator;
+
+    public int[] getArray() {
+        return array;
+    }
+
+    /**
+     * Returns the comparator of the wrapper.
+     * @return the comparator, or null if the natural ordering is used.
+     */
+    public IntComparator getComparator() {
+        return comparator;
+    }
+
+    private IntSortableArray(int[] array, IntComparator comparator) {
+        assert array != null;
+
+        this.array = array;
+        this.comparator = comparator;
+    }
+
+    /**
+     * Returns the wrapper containing the specified array and comparator.
+     *
+     * @param array the array of the wrapper.
+     * @param comparator the comparator of the wrapper.
+     * @return the wrapper.
+     * @throws NullPointerException if either array or comparator is null.
+     */
+    public static IntSortableArray of(int[] array, IntComparator comparator) {
+        Objects.requireNonNull(array);
+        Objects.requireNonNull(comparator);
+
+        return new IntSortableArray(array, comparator);
+    }
+
+    /**
+     * Returns the wrapper containing the specified array,
+     * whose elements are ordered by the natural ordering.
+     * @param array the array of the wrapper.
+     * @return the wrapper.
+     * @throws NullPointerException if the array is null.
+     */
+    public static IntSortableArray of(int[] array) {
+        Objects.requireNonNull(array);
+
+        return new IntSortableArray(array, null);
+    }
+
+    private int compare(int a, int b) {
+        return comparator == null ? Integer.compare(a, b) : comparator.compare(a, b);
+    }
+
+    /**
+     * Sort the array.
+     * With a comparator the sort is stable.
+     */
+    public void sort() {
+        if (comparator == null)
+            Arrays.sort(array);
+        else
+            mergeSort(array.clone(), array, 0, array.length);
+    }
+
+    /**
+     * Returns the permutation that sorts the array stably, without moving the elements.
+     * That is, {@code array[p[0]], array[p[1]], ...} are in ascending order,
+     * and the equal elements keep their original order.
+     * Without a comparator, the permutation is computed by radix sort in linear time.
+     * The permutation can be applied to the array and the companion arrays by
+     * {@link Permutations#applyAll(int[], Object, Object...)}.
+     * @return the permutation p.
+     */
+    public int[] argsort() {
+        if (comparator == null)
+            return RadixSort.sortedIndices(array);
+
+        int[] indices = new int[array.length];
+        for (int i = 0; i < indices.length; ++i)
+            indices[i] = i;
+        IntSortableArray.of(indices, (p, q) -> comparator.compare(array[p], array[q])).sort();
+        return indices;
+    }
+
+    /**
+     * Sort the array with LSD radix sort in linear time.
+     * The result is the same as the one of {@link #sort()}.
+     * @throws IllegalStateException if the wrapper has a comparator.
+     */
+    public void radixSort() {
+        if (comparator != null)
+            throw new IllegalStateException("Radix sort only supports the natural ordering.");
+
+        RadixSort.sort(array);
+    }
+
+    // Sorts dest[low, high) using src as the auxiliary array.
+    // Both arrays must contain the same elements in the range.
+    private void mergeSort(int[] src, int[] dest, int low, int high) {
+        int length = high - low;
+        if (length < INSERTION_SORT_THRESHOLD) {
+            for (int i = low + 1; i < high; ++i) {
+                int v = dest[i];
+                int j = i;
+                for (; j > low && compare(dest[j - 1], v) > 0; --j)
+                    dest[j] = dest[j - 1];
+                dest[j] = v;
+            }
+            return;
+        }
+
+        int mid = (low + high) >>> 1;
+        mergeSort(dest, src, low, mid);
+        mergeSort(dest, src, mid, high);
+
+        if (compare(src[mid - 1], src[mid]) <= 0) {
+            System.arraycopy(src, low, dest, low, length);
+            return;
+        }
+
+        for (int i = low, p = low, q = mid; i < high; ++i) {
+            if (q >= high || p < mid && compare(src[p], src[q]) <= 0)
+                dest[i] = src[p++];
+            else
+                dest[i] = src[q++];
+        }
+    }
+
+    /**
+     * Counts the number of the inversion pairs, which are the pairs (i, j)
+     * such that {@code i < j} and array[i] is greater than array[j],
+     * using merge sort.
+     * Without a comparator, the elements are compared directly.
+     * Note that this method doesn't change the original array.
+     * It sorts a scratch copy of the array.
+     * @return the number of the inversion pairs.
+     */
+    public long countInversions() {
+        return sortAndCountInversions(array.clone(), new int[array.length], 0, array.length);
+    }
+
+    /**
+     * Sort the array with merge sort,
+     * and returns the number of the inversion pairs before sorting,
+     * as defined in {@link #countInversions()}.
+     * @return the number of the inversion pairs.
+     */
+    public long sortAndCountInversions() {
+        return sortAndCountInversions(array, new int[array.length], 0, array.length);
+    }
+
+    // Sorts a[low, high) using the same range of buffer as the auxiliary space,
+    // and returns the number of the inversion pairs in the range.
+    private long sortAndCountInversions(int[] a, int[] buffer, int low, int high) {
+        if (high - low < INSERTION_SORT_THRESHOLD) {
+            long count = 0;
+            for (int i = low + 1; i < high; ++i) {
+                int v = a[i];
+                int j = i;
+                for (; j > low && compare(a[j - 1], v) > 0; --j)
+                    a[j] = a[j - 1];
+                a[j] = v;
+                count += i - j;
+            }
+            return count;
+        }
+
+        int mid = (low + high) >>> 1;
+        long count = sortAndCountInversions(a, buffer, low, mid)
+                + sortAndCountInversions(a, buffer, mid, high);
+        if (compare(a[mid - 1], a[mid]) <= 0)
+            return count;
+
+        System.arraycopy(a, low, buffer, low, high - low);
+        int p = low, q = mid, i = low;
+        while (p < mid && q < high) {
+            if (compare(buffer[p], buffer[q]) <= 0)
+                a[i++] = buffer[p++];
+            else {
+                count += mid - p;
+                a[i++] = buffer[q++];
+            }
+        }
+        System.arraycopy(buffer, p, a, i, mid - p);
+        // The rest of the second run is already in place.
+        return count;
+    }
+
+    /**
+     * Removes all but the first element
+     * from every consecutive group of equal elements,
+     * which is similar to the unique function in C++.
+     * This method doesn't change the length of array
+     * since it doesn't create any new array.
+     * It only moves the elements.
+     * @return The "real" length after removing.
+     */
+    public int unique() {
+        if (array.length == 0)
+            return 0;
+
+        int i, j;
+        for (i = 0, j = 1; j < array.length; ++j)
+            if (compare(array[i], array[j]) != 0)
+                array[++i] = array[j];
+        return i + 1;
+    }
+
+    /**
+     * Searches a range of
+     * the array for the specified value using the binary
+     * search algorithm.
+     * The range must be sorted into ascending order
+     * according to the comparator (as by the
+     * {@link #sort()} method) prior to making this call.
+     * If it is not sorted, the results are undefined.
+     * If the range contains multiple elements equal to the specified value,
+     * there is no guarantee which one will be found.
+     *
+     * @param fromIndex the index of the first element (inclusive) to be
+     *          searched
+     * @param toIndex the index of the last element (exclusive) to be searched
+     * @param key the value to be searched for
+     * @return index of the search key, if it is contained in the array
+     *         within the specified range;
+     *         otherwise, <tt>(-(<i>insertion point</i>) - 1)</tt>.
+     *         See {@link SortableArray#binarySearch(int, int, Object)}.
+     * @throws IllegalArgumentException
+     *         if {@code fromIndex > toIndex}
+     * @throws ArrayIndexOutOfBoundsException
+     *         if {@code fromIndex < 0 or toIndex > this.toArray().length}
+     */
+    public int binarySearch(int fromIndex, int toIndex, int key) {
+        if (comparator == null)
+            return Arrays.binarySearch(array, fromIndex, toIndex, key);
+
+        rangeCheck(fromIndex, toIndex);
+        int l = fromIndex, r = toIndex - 1;
+        while (l <= r) {
+            int mid = (l + r) >>> 1;
+            int cmp = comparator.compare(array[mid], key);
+            if (cmp < 0)
+                l = mid + 1;
+            else if (cmp > 0)
+                r = mid - 1;
+            else
+                return mid;
+        }
+        return -(l + 1);
+    }
+
+    private void rangeCheck(int fromIndex, int toIndex) {
+        if (fromIndex > toIndex)
+            throw new IllegalArgumentException("fromIndex(" + fromIndex + ") > toIndex(" + toIndex + ")");
+        if (fromIndex < 0)
+            throw new ArrayIndexOutOfBoundsException(fromIndex);
+        if (toIndex > array.length)
+            throw new ArrayIndexOutOfBoundsException(toIndex);
+    }
+
+    /**
+     * Returns an integer array a[] with the length of {@code array.length} that satisfies
+     *   (1) 0 <= a[i] < the number of distinct values in {@code array}.
+     *   (2) for each i, j that are in [0, {@code array.length}),
+     *      {@code sgn(a[i] - a[j]) == sgn(compare(array[i], array[j]))}.
+     * Note that this method doesn't change the original array.
+     * @return the array a.
+     */
+    public int[] discretize() {
+        IntSortableArray unique = new IntSortableArray(array.clone(), comparator);
+        unique.sort();
+
+        int newLen = unique.unique();
+        int[] result = new int[array.length];
+        for (int i = 0; i < array.length; ++i)
+            result[i] = unique.binarySearch(0, newLen, array[i]);
+
+        return result;
+    }
+
+    /**
+     * Swap two elements of the array of specified index.
+     * @param p The index of one of the element.
+     * @param q The index of another element.
+     */
+    public void swap(int p, int q) {
+        int tmp = array[p];
+        array[p] = array[q];
+        array[q] = tmp;
+    }
+
+    private void compareAndSwap(int p, int q) {
+        assert p < q;
+        if (compare(array[p], array[q]) > 0)
+            swap(p, q);
+    }
+    private void middleOfFive(int start) {
+        compareAndSwap(start, start+1);
+        compareAndSwap(start+2, start+3);
+        compareAndSwap(start, start+2);
+        compareAndSwap(start+1, start+3);
+        compareAndSwap(start+1, start+2);
+        compareAndSwap(start+2, start+4);
+        compareAndSwap(start+1, start+2);
+    }
+
+    // Moves the medians of medians to the front of the range
+    // and returns the one at array[l], which is used as the pivot.
+    private int BFPRTPivot(int l, int r) {
+        int newR = r;
+        while (newR - l > 5) {
+            int ptr = l;
+            for (int i = l; i + 5 < newR; i += 5) {
+                middleOfFive(i);
+                swap(ptr++, i + 2);
+            }
+            newR = ptr;
+        }
+        return array[l];
+    }
+
+    // Partition the array using BFPRT algorithm.
+    private int BFPRTPartition(int l, int r) {
+        int pv = BFPRTPivot(l, r);
+        int ptr = l;
+        for (int i = l + 1; i < r; ++i) {
+            if (compare(array[i], pv) < 0) {
+                swap(i, ++ptr);
+            }
+        }
+        swap(l, ptr);
+        return ptr;
+    }
+
+    /**
+     * Rearrange the array, so that array[k] is larger or equal than any
+     * element previous, and smaller or equal than any element after,
+     * using BFPRT Algorithm.
+     * @param k the position of partition.
+     */
+    public void partitionAt(int k) {
+        int l = 0, r = array.length;
+        for (;;) {
+            int pv = BFPRTPartition(l, r);
+            if (pv == k)
+                break;
+            if (pv < k)
+                l = pv + 1;
+            else
+                r = pv;
+        }
+    }
+
+    /**
+     * Rearrange the array, so that array[k] is larger or equal than any
+     * element previous, and smaller or equal than any element after,
+     * using the specified selection algorithm.
+     * @param k the position of partition.
+     * @param strategy the selection algorithm.
+     * @throws NullPointerException if the strategy is null.
+     * @throws ArrayIndexOutOfBoundsException if k is not a valid index of the array.
+     */
+    public void partitionAt(int k, SelectionStrategy strategy) {
+        Objects.requireNonNull(strategy);
+        if (k < 0 || k >= array.length)
+            throw new ArrayIndexOutOfBoundsException(k);
+
+        switch (strategy) {
+            case BFPRT:
+                partitionAt(k);
+                break;
+            case INTROSELECT:
+                introSelect(k);
+                break;
+            default:
+                throw new AssertionError();
+        }
+    }
+
+    private void introSelect(int k) {
+        int l = 0, r = array.length;
+        int stalled = 0;
+        int[] bounds = new int[2];
+        while (r - l > SELECTION_SORT_THRESHOLD) {
+            int len = r - l;
+            int pv;
+            if (stalled < INTROSELECT_STALLED_ROUNDS)
+                pv = medianOfThree(l, l + len / 2, r - 1);
+            else {
+                pv = BFPRTPivot(l, r);
+                stalled = 0;
+            }
+
+            threeWayPartition(l, r, pv, bounds);
+            if (k < bounds[0])
+                r = bounds[0];
+            else if (k >= bounds[1])
+                l = bounds[1];
+            else
+                return;
+
+            if (r - l > len - len / 4)
+                ++stalled;
+            else
+                stalled = 0;
+        }
+        insertionSort(l, r);
+    }
+
+    /**
+     * Rearrange the array, so that for every k in ks, array[k] is larger or
+     * equal than any element previous, and smaller or equal than any element after,
+     * as if {@link #partitionAt(int)} were called with every k.
+     * All the positions are placed in one recursive selection, which only descends
+     * into the parts that still contain a requested position, so it does far fewer
+     * comparisons than selecting them one by one.
+     * @param ks the positions of partition, in any order.
+     * @return the array of the elements at the positions,
+     *         whose i-th element is {@code array[ks[i]]}.
+     * @throws NullPointerException if ks is null.
+     * @throws ArrayIndexOutOfBoundsException if any k is not a valid index of the array.
+     */
+    public int[] partitionAtAll(int... ks) {
+        Objects.requireNonNull(ks);
+
+        int[] sortedKs = ks.clone();
+        Arrays.sort(sortedKs);
+        if (sortedKs.length > 0) {
+            if (sortedKs[0] < 0)
+                throw new ArrayIndexOutOfBoundsException(sortedKs[0]);
+            if (sortedKs[sortedKs.length - 1] >= array.length)
+                throw new ArrayIndexOutOfBoundsException(sortedKs[sortedKs.length - 1]);
+        }
+        multiSelect(0, array.length, sortedKs, 0, sortedKs.length, 0);
+
+        int[] result = new int[ks.length];
+        for (int i = 0; i < ks.length; ++i)
+            result[i] = array[ks[i]];
+        return result;
+    }
+
+    /**
+     * Returns the quantiles of the array by the nearest-rank method,
+     * that is, the q-quantile is the element at the position
+     * {@code max(0, ceil(q * array.length) - 1)} of the sorted array.
+     * The array is rearranged as by {@link #partitionAtAll(int...)} with the positions.
+     * For example, {@code quantiles(0.5, 0.9, 0.99, 0.999)} returns p50, p90, p99 and p999.
+     * @param qs the quantiles, each of which is in [0, 1].
+     * @return the array of the quantiles, in the same order as qs.
+     * @throws NullPointerException if qs is null.
+     * @throws IllegalArgumentException if any q is not in [0, 1].
+     * @throws ArrayIndexOutOfBoundsException if the array is empty and qs isn't.
+     */
+    public int[] quantiles(double... qs) {
+        Objects.requireNonNull(qs);
+
+        int[] ks = new int[qs.length];
+        for (int i = 0; i < qs.length; ++i) {
+            if (!(qs[i] >= 0 && qs[i] <= 1))
+                throw new IllegalArgumentException("The quantile should be in [0, 1].");
+            ks[i] = Math.max(0, (int) Math.ceil(qs[i] * array.length) - 1);
+        }
+        return partitionAtAll(ks);
+    }
+
+    // Places every position in ks[kl, kr), which is sorted and lies in [l, r).
+    // stalled is the number of the consecutive rounds in which the range didn't shrink enough.
+    private void multiSelect(int l, int r, int[] ks, int kl, int kr, int stalled) {
+        int[] bounds = new int[2];
+        while (kl < kr) {
+            if (r - l <= SELECTION_SORT_THRESHOLD) {
+                insertionSort(l, r);
+                return;
+            }
+
+            int len = r - l;
+            int pv;
+            if (stalled < INTROSELECT_STALLED_ROUNDS)
+                pv = medianOfThree(l, l + len / 2, r - 1);
+            else {
+                pv = BFPRTPivot(l, r);
+                stalled = 0;
+            }
+
+            threeWayPartition(l, r, pv, bounds);
+            int lt = bounds[0], gt = bounds[1];
+            // The positions in ks[kl, mid1) are in the less part,
+            // and the ones in ks[mid2, kr) are in the greater part.
+            int mid1 = BinarySearch.findLeastTrue(kl, kr, i -> ks[i] >= lt);
+            int mid2 = BinarySearch.findLeastTrue(mid1, kr, i -> ks[i] >= gt);
+
+            if (kl < mid1)
+                multiSelect(l, lt, ks, kl, mid1, lt - l > len - len / 4 ? stalled + 1 : 0);
+            stalled = r - gt > len - len / 4 ? stalled + 1 : 0;
+            l = gt;
+            kl = mid2;
+        }
+    }
+
+    private int medianOfThree(int a, int b, int c) {
+        compareAndSwap(a, b);
+        compareAndSwap(b, c);
+        compareAndSwap(a, b);
+        return array[b];
+    }
+
+    // Partition array[l, r) into the elements less than, equal to and greater than the pivot,
+    // and stores the bounds of the equal part into bounds[0] (inclusive) and bounds[1] (exclusive).
+    private void threeWayPartition(int l, int r, int pv, int[] bounds) {
+        int lt = l, i = l, gt = r;
+        while (i < gt) {
+            int cmp = compare(array[i], pv);
+            if (cmp < 0)
+                swap(lt++, i++);
+            else if (cmp > 0)
+                swap(i, --gt);
+            else
+                ++i;
+        }
+        bounds[0] = lt;
+        bounds[1] = gt;
+    }
+
+    private void insertionSort(int l, int r) {
+        for (int i = l + 1; i < r; ++i) {
+            int v = array[i];
+            int j = i;
+            for (; j > l && compare(array[j - 1], v) > 0; --j)
+                array[j] = array[j - 1];
+            array[j] = v;
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package org.jason5lee.algorithms;
+
+import java.util.function.Function;
+
+/**
+ * An iterated function that can be applied multiple times directly,
+ * such as a linear congruential generator.
+ * The sequence of a specified length with such function
+ * can be split into independent chunks, so it can be generated in parallel.
+ *
+ * @param <T> The type of the values.
+ *
+ * @author Jason Lee(&#x674e;&#x4e1c;&#x6052;)
+ */
+@FunctionalInterface
+public interface JumpableFunction<T> extends Function<T, T> {
+    /**
+     * Apply the function k times, which should be the same as
+     * applying {@link #apply(Object)} k times but much faster.
+     * @param x the value.
+     * @param k the number of the times, which is not negative.
+     * @return the result of applying the function k times to x.
+     */
+    T jump(T x, long k);
+
+    /**
+     * Apply the function once, which is {@code jump(x, 1)} by default.
+     * @param x the value.
+     * @return the result.
+     */
+    @Override
+    default T apply(T x) {
+        return jump(x, 1);
+    }
+}
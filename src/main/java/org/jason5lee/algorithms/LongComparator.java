@@ -0,0 +1,21 @@
+package org.jason5lee.algorithms;
+
+/**
+ * A comparison function on {@code long} values,
+ * which is the primitive specialization of {@link java.util.Comparator}.
+ * It avoids boxing the compared values.
+ *
+ * @author Jason Lee(&#x674e;&#x4e1c;&#x6052;)
+ */
+@FunctionalInterface
+public interface LongComparator {
+    /**
+     * Compares its two arguments for order.
+     * @param a the first value to be compared.
+     * @param b the second value to be compared.
+     * @return a negative integer, zero, or a positive integer as the
+     *         first argument is less than, equal to, or greater than the
+     *         second.
+     */
+    int compare(long a, long b);
+}
@@ -0,0 +1,75 @@
+package org.jason5lee.algorithms;
+
+// A hash set of long values by open addressing with linear probing,
+// which never boxes the values. The empty slots are 0,
+// so the value 0 is tracked by a flag.
+final class LongHashSet {
+    private static final int INITIAL_CAPACITY = 16;
+    // The maximum capacity of the table, whose size must be a power of two.
+    private static final int MAX_CAPACITY = 1 << 30;
+
+    private long[] table = new long[INITIAL_CAPACITY];
+    private int size;
+    private boolean hasZero;
+
+    boolean contains(long value) {
+        if (value == 0)
+            return hasZero;
+
+        int mask = table.length - 1;
+        for (int i = hash(value) & mask; table[i] != 0; i = (i + 1) & mask)
+            if (table[i] == value)
+                return true;
+        return false;
+    }
+
+    // Adds the value, returns false if it's already in the set.
+    boolean add(long value) {
+        if (value == 0) {
+            if (hasZero)
+                return false;
+            hasZero = true;
+            return true;
+        }
+
+        int mask = table.length - 1;
+        int i = hash(value) & mask;
+        for (; table[i] != 0; i = (i + 1) & mask)
+            if (table[i] == value)
+                return false;
+
+        table[i] = value;
+        // Keeps the load factor no more than 1/2.
+        if (++size > table.length >>> 1)
+            grow();
+        return true;
+    }
+
+    private void grow() {
+        if (table.length == MAX_CAPACITY)
+            throw new OutOfMemoryError("The hash set is too large.");
+
+        long[] old = table;
+        table = new long[old.length << 1];
+        int mask = table.length - 1;
+        for (long value : old) {
+            if (value != 0) {
+                int i = hash(value) & mask;
+                while (table[i] != 0)
+                    i = (i + 1) & mask;
+                table[i] = value;
+            }
+        }
+    }
+
+    // The finalizer of MurmurHash3, so the consecutive values are scattered.
+    private static int hash(long value) {
+        long h = value;
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return (int) h;
+    }
+}
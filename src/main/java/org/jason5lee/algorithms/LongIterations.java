@@ -0,0 +1,182 @@
+package org.jason5lee.algorithms;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.function.LongUnaryOperator;
+
+// The iteration sequences of long values, with the same strategies
+// as the generic ones, which never box the values.
+final class LongIterations {
+    // Suppresses default constructor, ensuring non-instantiability.
+    private LongIterations() {
+        throw new AssertionError();
+    }
+
+    // A iteration sequence with given length.
+    static LongSequence fixLength(long startWith, LongUnaryOperator f, int length) {
+        assert f != null;
+        assert length >= 0;
+
+        return () -> new PrimitiveIterator.OfLong() {
+            long current = startWith;
+            int rest = length;
+
+            @Override
+            public boolean hasNext() {
+                return rest > 0;
+            }
+
+            @Override
+            public long nextLong() {
+                if (rest <= 0)
+                    throw new NoSuchElementException();
+
+                long result = current;
+                current = f.applyAsLong(current);
+                --rest;
+                return result;
+            }
+        };
+    }
+
+    // A iteration sequence which stops when repeated element is
+    // detected by floyd cycle detection.
+    static LongSequence floyd(long startWith, LongUnaryOperator f) {
+        assert f != null;
+
+        return () -> new PrimitiveIterator.OfLong() {
+            long current = startWith;
+            long halfPace = startWith;
+            int status;
+
+            @Override
+            public boolean hasNext() {
+                return status != -1;
+            }
+
+            @Override
+            public long nextLong() {
+                long result = current;
+                switch (status) {
+                    case 0:
+                        current = f.applyAsLong(current);
+                        status = 1;
+                        break;
+                    case 1:
+                        current = f.applyAsLong(current);
+                        halfPace = f.applyAsLong(halfPace);
+                        status = current == halfPace ? -1 : 0;
+                        break;
+                    default:
+                        throw new NoSuchElementException();
+                }
+                return result;
+            }
+        };
+    }
+
+    // A iteration sequence which stops when repeated element is
+    // detected by brent cycle detection.
+    static LongSequence brent(long startWith, LongUnaryOperator f) {
+        assert f != null;
+
+        return () -> new PrimitiveIterator.OfLong() {
+            long current = startWith;
+            long saved = startWith;
+            long power = 1;
+            long steps;
+            boolean finished;
+
+            @Override
+            public boolean hasNext() {
+                return !finished;
+            }
+
+            @Override
+            public long nextLong() {
+                if (finished)
+                    throw new NoSuchElementException();
+
+                long result = current;
+                current = f.applyAsLong(current);
+                ++steps;
+                if (current == saved)
+                    finished = true;
+                else if (steps == power) {
+                    saved = current;
+                    power <<= 1;
+                    steps = 0;
+                }
+                return result;
+            }
+        };
+    }
+
+    // A iteration sequence which stops when repeated element is
+    // detected by nivasch stack algorithm, in the natural order of the values.
+    static LongSequence nivasch(long startWith, LongUnaryOperator f) {
+        assert f != null;
+
+        return () -> new PrimitiveIterator.OfLong() {
+            long[] stack = new long[16];
+            int size;
+            long current = startWith;
+            boolean finished;
+
+            {
+                stack[size++] = startWith;
+            }
+
+            @Override
+            public boolean hasNext() {
+                return !finished;
+            }
+
+            @Override
+            public long nextLong() {
+                if (finished)
+                    throw new NoSuchElementException();
+
+                long result = current;
+                current = f.applyAsLong(current);
+                while (size > 0 && stack[size - 1] > current)
+                    --size;
+                if (size > 0 && stack[size - 1] == current)
+                    finished = true;
+                else {
+                    if (size == stack.length)
+                        stack = Arrays.copyOf(stack, size * 2);
+                    stack[size++] = current;
+                }
+                return result;
+            }
+        };
+    }
+
+    // A iteration sequence which stops when repeated element is
+    // detected using a primitive hash set.
+    static LongSequence hashSet(long startWith, LongUnaryOperator f) {
+        assert f != null;
+
+        return () -> new PrimitiveIterator.OfLong() {
+            final LongHashSet visited = new LongHashSet();
+            long current = startWith;
+
+            @Override
+            public boolean hasNext() {
+                return !visited.contains(current);
+            }
+
+            @Override
+            public long nextLong() {
+                if (!visited.add(current))
+                    throw new NoSuchElementException();
+
+                long result = current;
+                current = f.applyAsLong(current);
+                return result;
+            }
+        };
+    }
+}
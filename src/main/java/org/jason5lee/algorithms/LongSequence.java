@@ -0,0 +1,39 @@
+package org.jason5lee.algorithms;
+
+import java.util.PrimitiveIterator;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.LongStream;
+import java.util.stream.StreamSupport;
+
+/**
+ * A sequence of long values built by {@link LongSequenceBuilder},
+ * which iterates the values without boxing.
+ *
+ * @author Jason Lee(&#x674e;&#x4e1c;&#x6052;)
+ */
+public interface LongSequence extends Iterable<Long> {
+    /**
+     * Returns a new iterator of the values, starting from the first one.
+     * @return the iterator.
+     */
+    @Override
+    PrimitiveIterator.OfLong iterator();
+
+    /**
+     * Returns a new spliterator of the values, starting from the first one.
+     * @return the spliterator.
+     */
+    @Override
+    default Spliterator.OfLong spliterator() {
+        return Spliterators.spliteratorUnknownSize(iterator(), Spliterator.ORDERED);
+    }
+
+    /**
+     * Returns a new sequential stream of the values.
+     * @return the stream.
+     */
+    default LongStream stream() {
+        return StreamSupport.longStream(spliterator(), false);
+    }
+}
@@ -0,0 +1,130 @@
+package org.jason5lee.algorithms;
+
+import java.util.Objects;
+import java.util.function.LongUnaryOperator;
+
+/**
+ * The specialization of {@link SequenceBuilder} for long values,
+ * which never boxes the values while iterating.
+ * The hash-based cycle detection uses a primitive open-addressing hash set,
+ * and the nivasch stack algorithm uses the natural order of the values.
+ *
+ * @author Jason Lee(&#x674e;&#x4e1c;&#x6052;)
+ */
+public class LongSequenceBuilder {
+    private long first;
+    private LongUnaryOperator f;
+    private final static int FLOYD = -1;
+    private final static int HASH_MAP = -2;
+    private final static int BRENT = -3;
+    private final static int NIVASCH = -4;
+    private int lengthOrCycleDetection;
+
+    /**
+     * Specify the first value of the sequence.
+     * Without specification, the default first value is 0.
+     * @param first the first value.
+     * @return the builder itself.
+     */
+    public LongSequenceBuilder first(long first) {
+        this.first = first;
+        return this;
+    }
+
+    /**
+     * Specify the iterated function.
+     * @param f the iterated function
+     * @return the builder itself.
+     * @throws NullPointerException if the function is null.
+     */
+    public LongSequenceBuilder iterateBy(LongUnaryOperator f) {
+        Objects.requireNonNull(f);
+        this.f = f;
+        return this;
+    }
+
+    /**
+     * Use floyd cycle detecting algorithm
+     * to determined whether the sequence has repeated
+     * values.
+     * @return the builder itself.
+     */
+    public LongSequenceBuilder floydCycleDetection() {
+        lengthOrCycleDetection = FLOYD;
+        return this;
+    }
+
+    /**
+     * Use brent cycle detecting algorithm
+     * to determined whether the sequence has repeated
+     * values.
+     * @return the builder itself.
+     * @see SequenceBuilder#brentCycleDetection()
+     */
+    public LongSequenceBuilder brentCycleDetection() {
+        lengthOrCycleDetection = BRENT;
+        return this;
+    }
+
+    /**
+     * Use nivasch stack algorithm with the natural order of the values
+     * to determined whether the sequence has repeated values.
+     * @return the builder itself.
+     * @see SequenceBuilder#nivaschCycleDetection(java.util.Comparator)
+     */
+    public LongSequenceBuilder nivaschCycleDetection() {
+        lengthOrCycleDetection = NIVASCH;
+        return this;
+    }
+
+    /**
+     * Use a primitive hash set to detect whether the sequence
+     * has repeated values.
+     * @return the builder itself.
+     */
+    public LongSequenceBuilder hashMapCycleDetection() {
+        lengthOrCycleDetection = HASH_MAP;
+        return this;
+    }
+
+    /**
+     * Specify the length of the sequence.
+     * If you neither specify the length
+     * nor the cycle detection
+     * the sequence is default empty.
+     * @param length
+     * @return the builder itself.
+     * @throws IllegalArgumentException if length is negative.
+     */
+    public LongSequenceBuilder length(int length) {
+        if (length < 0)
+            throw new IllegalArgumentException("The length shouldn't be negative.");
+
+        lengthOrCycleDetection = length;
+        return this;
+    }
+
+    /**
+     * Build the sequences.
+     * @return the {@code LongSequence} object representing the sequence.
+     * @throws IllegalStateException if you never specify the iterated function.
+     */
+    public LongSequence build() {
+        if (f == null)
+            throw new IllegalStateException("No iterated function specified.");
+
+        switch (lengthOrCycleDetection) {
+            case FLOYD:
+                return LongIterations.floyd(first, f);
+            case HASH_MAP:
+                return LongIterations.hashSet(first, f);
+            case BRENT:
+                return LongIterations.brent(first, f);
+            case NIVASCH:
+                return LongIterations.nivasch(first, f);
+            default:
+                assert lengthOrCycleDetection >= 0;
+                return LongIterations.fixLength(first, f, lengthOrCycleDetection);
+        }
+    }
+}
@@ -0,0 +1,198 @@
+package org.jason5lee.algorithms;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+// The merge sorts, including the fork-join ones, which can also count
+// the inversion pairs while merging.
+// In the fork-join sort, the ranges no longer than the threshold are sorted
+// by Arrays.sort and the merges are stable, so the result is exactly the same
+// as the one of the serial Arrays.sort.
+final class MergeSort {
+    // Below this length the merge sort switches to insertion sort.
+    private static final int INSERTION_SORT_THRESHOLD = 7;
+
+    // Suppresses default constructor, ensuring non-instantiability.
+    private MergeSort() {
+        throw new AssertionError();
+    }
+
+    // Sorts array[low, high) with a merge sort, using the same range of buffer
+    // as the auxiliary space, and returns the number of the inversion pairs in the range.
+    static <T> long sortAndCountInversions(T[] array, T[] buffer, int low, int high,
+                                           Comparator<? super T> comparator) {
+        if (high - low < INSERTION_SORT_THRESHOLD) {
+            long count = 0;
+            for (int i = low + 1; i < high; ++i) {
+                T v = array[i];
+                int j = i;
+                for (; j > low && comparator.compare(array[j - 1], v) > 0; --j)
+                    array[j] = array[j - 1];
+                array[j] = v;
+                count += i - j;
+            }
+            return count;
+        }
+
+        int mid = (low + high) >>> 1;
+        long count = sortAndCountInversions(array, buffer, low, mid, comparator)
+                + sortAndCountInversions(array, buffer, mid, high, comparator);
+        if (comparator.compare(array[mid - 1], array[mid]) <= 0)
+            return count;
+
+        System.arraycopy(array, low, buffer, low, high - low);
+        return count + merge(buffer, low, mid, mid, high, array, low, comparator);
+    }
+
+    // Merges the sorted runs src[lo1, hi1) and src[lo2, hi2) into dst from dstLow,
+    // and returns the number of the pairs of an element of the first run
+    // greater than an element of the second run.
+    // The elements of the first run go first when they are equal to the ones of the second run.
+    private static <T> long merge(T[] src, int lo1, int hi1, int lo2, int hi2, T[] dst, int dstLow,
+                                  Comparator<? super T> comparator) {
+        long count = 0;
+        int p = lo1, q = lo2, i = dstLow;
+        while (p < hi1 && q < hi2) {
+            if (comparator.compare(src[p], src[q]) <= 0)
+                dst[i++] = src[p++];
+            else {
+                count += hi1 - p;
+                dst[i++] = src[q++];
+            }
+        }
+        System.arraycopy(src, p, dst, i, hi1 - p);
+        System.arraycopy(src, q, dst, i + (hi1 - p), hi2 - q);
+        return count;
+    }
+
+    static <T> void sort(ForkJoinPool pool, T[] array, Comparator<? super T> comparator, int threshold) {
+        assert pool != null;
+        assert array != null;
+        assert comparator != null;
+        assert threshold > 0;
+
+        if (array.length <= threshold) {
+            Arrays.sort(array, comparator);
+            return;
+        }
+        pool.invoke(new Sorter<>(array, Arrays.copyOf(array, array.length), 0, array.length,
+                                 comparator, threshold, false));
+    }
+
+    static <T> long sortAndCountInversions(ForkJoinPool pool, T[] array, T[] buffer,
+                                           Comparator<? super T> comparator, int threshold) {
+        assert pool != null;
+        assert array != null;
+        assert buffer != null && buffer.length >= array.length;
+        assert comparator != null;
+        assert threshold > 0;
+
+        return pool.invoke(new Sorter<>(array, buffer, 0, array.length, comparator, threshold, true));
+    }
+
+    // Sorts array[low, high), using the same range of buffer as the auxiliary space.
+    // If countInversions is set, it returns the number of the inversion pairs in the range,
+    // otherwise it returns zero.
+    private static final class Sorter<T> extends RecursiveTask<Long> {
+        private static final long serialVersionUID = 1L;
+
+        private final T[] array;
+        private final T[] buffer;
+        private final int low;
+        private final int high;
+        private final Comparator<? super T> comparator;
+        private final int threshold;
+        private final boolean countInversions;
+
+        Sorter(T[] array, T[] buffer, int low, int high, Comparator<? super T> comparator,
+               int threshold, boolean countInversions) {
+            this.array = array;
+            this.buffer = buffer;
+            this.low = low;
+            this.high = high;
+            this.comparator = comparator;
+            this.threshold = threshold;
+            this.countInversions = countInversions;
+        }
+
+        @Override
+        protected Long compute() {
+            if (high - low <= threshold) {
+                if (countInversions)
+                    return sortAndCountInversions(array, buffer, low, high, comparator);
+
+                Arrays.sort(array, low, high, comparator);
+                return 0L;
+            }
+
+            int mid = (low + high) >>> 1;
+            Sorter<T> left = new Sorter<>(array, buffer, low, mid, comparator, threshold, countInversions);
+            Sorter<T> right = new Sorter<>(array, buffer, mid, high, comparator, threshold, countInversions);
+            invokeAll(left, right);
+            long count = left.join() + right.join();
+            if (comparator.compare(array[mid - 1], array[mid]) <= 0)
+                return count;
+
+            System.arraycopy(array, low, buffer, low, high - low);
+            return count + new Merger<>(buffer, low, mid, mid, high, array, low, comparator, threshold).compute();
+        }
+    }
+
+    // Merges the sorted runs src[lo1, hi1) and src[lo2, hi2) into dst from dstLow in parallel,
+    // and returns the number of the pairs of an element of the first run
+    // greater than an element of the second run.
+    // The elements of the first run go first when they are equal to the ones of the second run.
+    private static final class Merger<T> extends RecursiveTask<Long> {
+        private static final long serialVersionUID = 1L;
+
+        private final T[] src;
+        private final int lo1, hi1, lo2, hi2;
+        private final T[] dst;
+        private final int dstLow;
+        private final Comparator<? super T> comparator;
+        private final int threshold;
+
+        Merger(T[] src, int lo1, int hi1, int lo2, int hi2, T[] dst, int dstLow,
+               Comparator<? super T> comparator, int threshold) {
+            this.src = src;
+            this.lo1 = lo1;
+            this.hi1 = hi1;
+            this.lo2 = lo2;
+            this.hi2 = hi2;
+            this.dst = dst;
+            this.dstLow = dstLow;
+            this.comparator = comparator;
+            this.threshold = threshold;
+        }
+
+        @Override
+        protected Long compute() {
+            int len1 = hi1 - lo1, len2 = hi2 - lo2;
+            // Two runs of length 1 may be split into the same runs again, so they are merged directly.
+            if (len1 + len2 <= Math.max(threshold, 2) || len1 == 0 || len2 == 0)
+                return merge(src, lo1, hi1, lo2, hi2, dst, dstLow, comparator);
+
+            int m1, m2;
+            if (len1 >= len2) {
+                m1 = (lo1 + hi1) >>> 1;
+                // The elements of the second run equal to src[m1] go to the right part.
+                m2 = BinarySearch.findLeastTrue(lo2, hi2, i -> comparator.compare(src[i], src[m1]) >= 0);
+            }
+            else {
+                m2 = (lo2 + hi2) >>> 1;
+                // The elements of the first run equal to src[m2] go to the left part.
+                m1 = BinarySearch.findLeastTrue(lo1, hi1, i -> comparator.compare(src[i], src[m2]) > 0);
+            }
+
+            int dstMid = dstLow + (m1 - lo1) + (m2 - lo2);
+            Merger<T> left = new Merger<>(src, lo1, m1, lo2, m2, dst, dstLow, comparator, threshold);
+            Merger<T> right = new Merger<>(src, m1, hi1, m2, hi2, dst, dstMid, comparator, threshold);
+            invokeAll(left, right);
+            // Every element of src[m1, hi1) is greater than every element of src[lo2, m2),
+            // and no element of src[lo1, m1) is greater than any element of src[m2, hi2).
+            return left.join() + right.join() + (long) (hi1 - m1) * (m2 - lo2);
+        }
+    }
+}
@@ -0,0 +1,180 @@
+package org.jason5lee.algorithms;
+
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.IntPredicate;
+import java.util.function.LongPredicate;
+
+/**
+ * The counters of the work done by the instrumented algorithms,
+ * which are the comparator calls, the swaps, the predicate and function evaluations,
+ * and the number of the calls and the elapsed time of every operation.
+ * The algorithms are instrumented only if a metrics object is passed to them,
+ * such as {@link SortableArray#of(Object[], Comparator, Metrics)},
+ * {@link BinarySearch#findLeastTrue(int, int, IntPredicate, Metrics)}
+ * and {@link SequenceBuilder#metrics(Metrics)}, so the others run the uninstrumented code.
+ * The counters can be updated by multiple threads.
+ *
+ * @author Jason Lee(&#x674e;&#x4e1c;&#x6052;)
+ */
+public final class Metrics {
+    // The number of the calls and the elapsed time of an operation.
+    private static final class Timer {
+        final LongAdder calls = new LongAdder();
+        final LongAdder nanos = new LongAdder();
+    }
+
+    private final LongAdder comparisons = new LongAdder();
+    private final LongAdder swaps = new LongAdder();
+    private final LongAdder predicateEvaluations = new LongAdder();
+    private final LongAdder functionEvaluations = new LongAdder();
+    private final ConcurrentHashMap<String, Timer> timers = new ConcurrentHashMap<>();
+
+    /**
+     * Get the number of the comparator calls.
+     * @return the number of the comparisons.
+     */
+    public long getComparisons() {
+        return comparisons.sum();
+    }
+
+    /**
+     * Get the number of the swaps of the elements.
+     * @return the number of the swaps.
+     */
+    public long getSwaps() {
+        return swaps.sum();
+    }
+
+    /**
+     * Get the number of the predicate evaluations of the searches.
+     * @return the number of the predicate evaluations.
+     */
+    public long getPredicateEvaluations() {
+        return predicateEvaluations.sum();
+    }
+
+    /**
+     * Get the number of the evaluations of the iterated functions.
+     * @return the number of the function evaluations.
+     */
+    public long getFunctionEvaluations() {
+        return functionEvaluations.sum();
+    }
+
+    /**
+     * Get the names of the operations that have been recorded,
+     * which are the names of the instrumented methods, such as {@code "sort"}.
+     * @return the unmodifiable set of the names.
+     */
+    public Set<String> getOperations() {
+        return Collections.unmodifiableSet(timers.keySet());
+    }
+
+    /**
+     * Get the number of the calls of the operation.
+     * @param operation the name of the operation.
+     * @return the number of the calls, or 0 if never recorded.
+     */
+    public long getCalls(String operation) {
+        Timer timer = timers.get(operation);
+        return timer == null ? 0 : timer.calls.sum();
+    }
+
+    /**
+     * Get the total elapsed time of the calls of the operation.
+     * @param operation the name of the operation.
+     * @return the elapsed time in nanoseconds, or 0 if never recorded.
+     */
+    public long getElapsedNanos(String operation) {
+        Timer timer = timers.get(operation);
+        return timer == null ? 0 : timer.nanos.sum();
+    }
+
+    /**
+     * Reset all the counters.
+     */
+    public void reset() {
+        comparisons.reset();
+        swaps.reset();
+        predicateEvaluations.reset();
+        functionEvaluations.reset();
+        timers.clear();
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder("Metrics{comparisons=").append(getComparisons())
+                .append(", swaps=").append(getSwaps())
+                .append(", predicateEvaluations=").append(getPredicateEvaluations())
+                .append(", functionEvaluations=").append(getFunctionEvaluations());
+        timers.forEach((operation, timer) -> builder.append(", ").append(operation)
+                .append("={calls=").append(timer.calls.sum())
+                .append(", nanos=").append(timer.nanos.sum()).append('}'));
+        return builder.append('}').toString();
+    }
+
+    void countSwap() {
+        swaps.increment();
+    }
+
+    void record(String operation, long nanos) {
+        Timer timer = timers.computeIfAbsent(operation, key -> new Timer());
+        timer.calls.increment();
+        timer.nanos.add(nanos);
+    }
+
+    <T> Comparator<T> counting(Comparator<T> comparator) {
+        assert comparator != null;
+        return (a, b) -> {
+            comparisons.increment();
+            return comparator.compare(a, b);
+        };
+    }
+
+    IntPredicate countingInt(IntPredicate f) {
+        assert f != null;
+        return x -> {
+            predicateEvaluations.increment();
+            return f.test(x);
+        };
+    }
+
+    LongPredicate countingLong(LongPredicate f) {
+        assert f != null;
+        return x -> {
+            predicateEvaluations.increment();
+            return f.test(x);
+        };
+    }
+
+    // Counts every call of apply or jump as one evaluation,
+    // and keeps the function jumpable if it is.
+    <T> Function<T, T> counting(Function<T, T> f) {
+        assert f != null;
+        if (f instanceof JumpableFunction) {
+            JumpableFunction<T> jumpable = (JumpableFunction<T>) f;
+            return new JumpableFunction<T>() {
+                @Override
+                public T jump(T x, long k) {
+                    functionEvaluations.increment();
+                    return jumpable.jump(x, k);
+                }
+
+                @Override
+                public T apply(T x) {
+                    functionEvaluations.increment();
+                    return jumpable.apply(x);
+                }
+            };
+        }
+        return x -> {
+            functionEvaluations.increment();
+            return f.apply(x);
+        };
+    }
+}
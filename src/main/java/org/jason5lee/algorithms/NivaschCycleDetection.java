@@ -0,0 +1,120 @@
+package org.jason5lee.algorithms;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.Function;
+
+// A iteration sequence which stops when repeated element is
+// detected by nivasch stack algorithm. The stack keeps the elements
+// that are less than all the following ones, which are increasing from the bottom.
+// The minimum element of the cycle is never popped, so it is found again
+// within two rounds of the cycle. The stack has O(log n) elements on average.
+class NivaschCycleDetection<T> implements Sequence<T> {
+    private final T startWith;
+    private final Function<T, T> iteratedFunction;
+    private final Comparator<? super T> comparator;
+    // The cycle detected by nth, which is safely published since CycleInfo is immutable.
+    private CycleInfo cycle;
+
+    NivaschCycleDetection(T startWith, Function<T, T> iteratedFunction, Comparator<? super T> comparator) {
+        assert iteratedFunction != null;
+        assert comparator != null;
+        this.startWith = startWith;
+        this.iteratedFunction = iteratedFunction;
+        this.comparator = comparator;
+    }
+
+    @Override
+    public T nth(long n) {
+        return SequenceBuilder.nth(iteratedFunction, startWith, n, () -> {
+            CycleInfo cycle = this.cycle;
+            if (cycle == null)
+                this.cycle = cycle = detect(startWith, iteratedFunction, comparator);
+            return cycle;
+        });
+    }
+
+    public Iterator<T> iterator() {
+        return new Iterator<T>() {
+            final Stack<T> stack = new Stack<>(comparator);
+            T current = startWith;
+            long index;
+            boolean finished;
+
+            {
+                stack.push(startWith, 0);
+            }
+
+            @Override
+            public boolean hasNext() {
+                return !finished;
+            }
+
+            @Override
+            public T next() {
+                if (finished)
+                    throw new NoSuchElementException();
+
+                T result = current;
+                current = iteratedFunction.apply(current);
+                ++index;
+                finished = stack.push(current, index) >= 0;
+                return result;
+            }
+        };
+    }
+
+    // Detects the cycle length with the stack,
+    // then finds the start of the cycle with two pointers of that distance.
+    static <T> CycleInfo detect(T startWith, Function<T, T> f, Comparator<? super T> comparator) {
+        assert f != null;
+        assert comparator != null;
+
+        Stack<T> stack = new Stack<>(comparator);
+        T current = startWith;
+        long index = 0;
+        long repeated = stack.push(current, index);
+        while (repeated < 0) {
+            current = f.apply(current);
+            ++index;
+            repeated = stack.push(current, index);
+        }
+
+        long cycleLength = index - repeated;
+        long tailLength = BrentCycleDetection.tailLength(startWith, f, cycleLength);
+        return new CycleInfo(tailLength, cycleLength, index + cycleLength + 2 * tailLength);
+    }
+
+    private static final class Stack<T> {
+        private final Comparator<? super T> comparator;
+        private final ArrayList<T> values = new ArrayList<>();
+        private long[] indices = new long[16];
+
+        Stack(Comparator<? super T> comparator) {
+            this.comparator = comparator;
+        }
+
+        // Pops the elements greater than the value. If the top one is equal to the value,
+        // returns its index. Otherwise pushes the value and returns -1.
+        long push(T value, long index) {
+            int size = values.size();
+            while (size > 0) {
+                int c = comparator.compare(values.get(size - 1), value);
+                if (c == 0)
+                    return indices[size - 1];
+                if (c < 0)
+                    break;
+                values.remove(--size);
+            }
+
+            values.add(value);
+            if (size == indices.length)
+                indices = Arrays.copyOf(indices, size * 2);
+            indices[size] = index;
+            return -1;
+        }
+    }
+}
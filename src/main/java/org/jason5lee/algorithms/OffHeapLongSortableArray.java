@@ -0,0 +1,449 @@
+package org.jason5lee.algorithms;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Objects;
+
+/**
+ * An array of {@code long} stored outside the heap, either in direct buffers
+ * or in a memory-mapped file, with the methods of {@link LongSortableArray}.
+ * The indices are {@code long}, so it can hold more than {@link Integer#MAX_VALUE}
+ * elements, and the methods never copy the elements onto the heap.
+ * The elements are ordered by {@link Long#compare(long, long)}.
+ * A mapped file stores the elements in little-endian order, so a file can be
+ * processed in place and opened again instantly.
+ *
+ * @author Jason Lee(&#x674e;&#x4e1c;&#x6052;)
+ */
+public class OffHeapLongSortableArray {
+    // Every segment holds 2^27 elements, which are 1 GiB.
+    private static final int DEFAULT_SEGMENT_SHIFT = 27;
+    // Below this length the sort switches to insertion sort.
+    private static final int INSERTION_SORT_THRESHOLD = 16;
+
+    private final ByteBuffer[] segments;
+    private final long length;
+    private final int segmentShift;
+    private final long segmentMask;
+
+    private OffHeapLongSortableArray(ByteBuffer[] segments, long length, int segmentShift) {
+        assert segments != null;
+        assert length >= 0;
+
+        this.segments = segments;
+        this.length = length;
+        this.segmentShift = segmentShift;
+        this.segmentMask = (1L << segmentShift) - 1;
+    }
+
+    /**
+     * Returns an array of the specified length, stored in direct buffers.
+     * All the elements are initially zero.
+     * @param length the length of the array.
+     * @return the array.
+     * @throws IllegalArgumentException if the length is negative.
+     */
+    public static OffHeapLongSortableArray allocateDirect(long length) {
+        return allocateDirect(length, DEFAULT_SEGMENT_SHIFT);
+    }
+
+    static OffHeapLongSortableArray allocateDirect(long length, int segmentShift) {
+        checkLength(length);
+
+        ByteBuffer[] segments = new ByteBuffer[segmentCount(length, segmentShift)];
+        for (int i = 0; i < segments.length; ++i) {
+            long segmentLength = Math.min(length - ((long) i << segmentShift), 1L << segmentShift);
+            segments[i] = ByteBuffer.allocateDirect((int) (segmentLength << 3)).order(ByteOrder.nativeOrder());
+        }
+        return new OffHeapLongSortableArray(segments, length, segmentShift);
+    }
+
+    /**
+     * Returns the array mapped from an existing file,
+     * whose length is the size of the file divided by 8.
+     * The changes of the array are written into the file.
+     * @param file the file.
+     * @return the array.
+     * @throws NullPointerException if the file is null.
+     * @throws IOException if an I/O error occurs,
+     *                     or the size of the file is not a multiple of 8.
+     */
+    public static OffHeapLongSortableArray map(Path file) throws IOException {
+        Objects.requireNonNull(file);
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            long size = channel.size();
+            if ((size & 7) != 0)
+                throw new IOException("The size of the file is not a multiple of 8.");
+            return map(channel, size >>> 3, DEFAULT_SEGMENT_SHIFT);
+        }
+    }
+
+    /**
+     * Returns the array of the specified length mapped from a file,
+     * which is created if it doesn't exist, and resized to exactly
+     * {@code 8 * length} bytes.
+     * The new elements are initially zero.
+     * The changes of the array are written into the file.
+     * @param file the file.
+     * @param length the length of the array.
+     * @return the array.
+     * @throws NullPointerException if the file is null.
+     * @throws IllegalArgumentException if the length is negative.
+     * @throws IOException if an I/O error occurs.
+     */
+    public static OffHeapLongSortableArray map(Path file, long length) throws IOException {
+        return map(file, length, DEFAULT_SEGMENT_SHIFT);
+    }
+
+    static OffHeapLongSortableArray map(Path file, long length, int segmentShift) throws IOException {
+        Objects.requireNonNull(file);
+        checkLength(length);
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            if (channel.size() > length << 3)
+                channel.truncate(length << 3);
+            return map(channel, length, segmentShift);
+        }
+    }
+
+    // The mapping stays valid after the channel is closed.
+    private static OffHeapLongSortableArray map(FileChannel channel, long length, int segmentShift)
+            throws IOException {
+        ByteBuffer[] segments = new ByteBuffer[segmentCount(length, segmentShift)];
+        for (int i = 0; i < segments.length; ++i) {
+            long offset = (long) i << segmentShift;
+            long segmentLength = Math.min(length - offset, 1L << segmentShift);
+            segments[i] = channel.map(FileChannel.MapMode.READ_WRITE, offset << 3, segmentLength << 3)
+                    .order(ByteOrder.LITTLE_ENDIAN);
+        }
+        return new OffHeapLongSortableArray(segments, length, segmentShift);
+    }
+
+    private static void checkLength(long length) {
+        if (length < 0)
+            throw new IllegalArgumentException("The length shouldn't be negative.");
+    }
+
+    private static int segmentCount(long length, int segmentShift) {
+        long count = (length + (1L << segmentShift) - 1) >>> segmentShift;
+        if (count > Integer.MAX_VALUE)
+            throw new IllegalArgumentException("The length is too large.");
+        return (int) count;
+    }
+
+    /**
+     * Returns the length of the array.
+     * @return the length.
+     */
+    public long length() {
+        return length;
+    }
+
+    /**
+     * Returns the element of the specified index.
+     * @param index the index.
+     * @return the element.
+     * @throws IndexOutOfBoundsException if the index is out of range.
+     */
+    public long get(long index) {
+        checkIndex(index);
+        return load(index);
+    }
+
+    /**
+     * Replaces the element of the specified index.
+     * @param index the index.
+     * @param value the new element.
+     * @throws IndexOutOfBoundsException if the index is out of range.
+     */
+    public void set(long index, long value) {
+        checkIndex(index);
+        store(index, value);
+    }
+
+    /**
+     * Writes the changes into the storage device, if the array is mapped from a file.
+     * Otherwise it does nothing.
+     */
+    public void flush() {
+        for (ByteBuffer segment : segments)
+            if (segment instanceof MappedByteBuffer)
+                ((MappedByteBuffer) segment).force();
+    }
+
+    private void checkIndex(long index) {
+        if (index < 0 || index >= length)
+            throw new IndexOutOfBoundsException("Index: " + index + ", Length: " + length);
+    }
+
+    private long load(long index) {
+        return segments[(int) (index >>> segmentShift)].getLong((int) (index & segmentMask) << 3);
+    }
+
+    private void store(long index, long value) {
+        segments[(int) (index >>> segmentShift)].putLong((int) (index & segmentMask) << 3, value);
+    }
+
+    /**
+     * Sort the array in place with introsort,
+     * which falls back to heapsort when the quicksort recursion gets too deep.
+     */
+    public void sort() {
+        sort(0, length);
+    }
+
+    private void sort(long l, long r) {
+        introSort(l, r, 2 * (64 - Long.numberOfLeadingZeros(r - l)), new long[2]);
+    }
+
+    private void introSort(long l, long r, int depth, long[] bounds) {
+        while (r - l > INSERTION_SORT_THRESHOLD) {
+            if (depth-- == 0) {
+                heapSort(l, r);
+                return;
+            }
+
+            threeWayPartition(l, r, medianOfThree(l, l + (r - l) / 2, r - 1), bounds);
+            long lt = bounds[0], gt = bounds[1];
+            // Recurses into the smaller part, so the stack depth is logarithmic.
+            if (lt - l < r - gt) {
+                introSort(l, lt, depth, bounds);
+                l = gt;
+            }
+            else {
+                introSort(gt, r, depth, bounds);
+                r = lt;
+            }
+        }
+        insertionSort(l, r);
+    }
+
+    private void insertionSort(long l, long r) {
+        for (long i = l + 1; i < r; ++i) {
+            long v = load(i);
+            long j = i;
+            for (; j > l && load(j - 1) > v; --j)
+                store(j, load(j - 1));
+            store(j, v);
+        }
+    }
+
+    private void heapSort(long l, long r) {
+        long n = r - l;
+        for (long i = n / 2 - 1; i >= 0; --i)
+            siftDown(l, i, n);
+        for (long end = n - 1; end > 0; --end) {
+            exchange(l, l + end);
+            siftDown(l, 0, end);
+        }
+    }
+
+    // Sifts down the i-th element of the heap of length n starting from base.
+    private void siftDown(long base, long i, long n) {
+        long v = load(base + i);
+        for (;;) {
+            long child = 2 * i + 1;
+            if (child >= n)
+                break;
+            if (child + 1 < n && load(base + child + 1) > load(base + child))
+                ++child;
+            long c = load(base + child);
+            if (c <= v)
+                break;
+            store(base + i, c);
+            i = child;
+        }
+        store(base + i, v);
+    }
+
+    private long medianOfThree(long a, long b, long c) {
+        compareAndSwap(a, b);
+        compareAndSwap(b, c);
+        compareAndSwap(a, b);
+        return load(b);
+    }
+
+    private void compareAndSwap(long p, long q) {
+        assert p < q;
+        if (load(p) > load(q))
+            exchange(p, q);
+    }
+
+    // Partition the range [l, r) into the elements less than, equal to and greater than the pivot,
+    // and stores the bounds of the equal part into bounds[0] (inclusive) and bounds[1] (exclusive).
+    private void threeWayPartition(long l, long r, long pv, long[] bounds) {
+        long lt = l, i = l, gt = r;
+        while (i < gt) {
+            long v = load(i);
+            if (v < pv)
+                exchange(lt++, i++);
+            else if (v > pv)
+                exchange(i, --gt);
+            else
+                ++i;
+        }
+        bounds[0] = lt;
+        bounds[1] = gt;
+    }
+
+    /**
+     * Removes all but the first element
+     * from every consecutive group of equal elements,
+     * which is similar to the unique function in C++.
+     * This method doesn't change the length of array.
+     * It only moves the elements.
+     * @return The "real" length after removing.
+     */
+    public long unique() {
+        return unique(length);
+    }
+
+    // The unique of the first n elements.
+    private long unique(long n) {
+        if (n == 0)
+            return 0;
+
+        long i, j;
+        for (i = 0, j = 1; j < n; ++j) {
+            long v = load(j);
+            if (load(i) != v)
+                store(++i, v);
+        }
+        return i + 1;
+    }
+
+    /**
+     * Searches a range of
+     * the array for the specified value using the binary
+     * search algorithm.
+     * The range must be sorted into ascending order
+     * (as by the {@link #sort()} method) prior to making this call.
+     * If it is not sorted, the results are undefined.
+     * If the range contains multiple elements equal to the specified value,
+     * there is no guarantee which one will be found.
+     *
+     * @param fromIndex the index of the first element (inclusive) to be
+     *          searched
+     * @param toIndex the index of the last element (exclusive) to be searched
+     * @param key the value to be searched for
+     * @return index of the search key, if it is contained in the array
+     *         within the specified range;
+     *         otherwise, <tt>(-(<i>insertion point</i>) - 1)</tt>.
+     *         See {@link SortableArray#binarySearch(int, int, Object)}.
+     * @throws IllegalArgumentException
+     *         if {@code fromIndex > toIndex}
+     * @throws IndexOutOfBoundsException
+     *         if {@code fromIndex < 0 or toIndex > length()}
+     */
+    public long binarySearch(long fromIndex, long toIndex, long key) {
+        rangeCheck(fromIndex, toIndex);
+
+        long l = fromIndex, r = toIndex - 1;
+        while (l <= r) {
+            long mid = (l + r) >>> 1;
+            long v = load(mid);
+            if (v < key)
+                l = mid + 1;
+            else if (v > key)
+                r = mid - 1;
+            else
+                return mid;
+        }
+        return -(l + 1);
+    }
+
+    private void rangeCheck(long fromIndex, long toIndex) {
+        if (fromIndex > toIndex)
+            throw new IllegalArgumentException("fromIndex(" + fromIndex + ") > toIndex(" + toIndex + ")");
+        if (fromIndex < 0)
+            throw new IndexOutOfBoundsException("fromIndex: " + fromIndex);
+        if (toIndex > length)
+            throw new IndexOutOfBoundsException("toIndex: " + toIndex);
+    }
+
+    /**
+     * Stores into {@code result} the values a[i] that satisfy
+     *   (1) 0 <= a[i] < the number of distinct values in the array.
+     *   (2) for each i, j that are in [0, {@code length()}),
+     *      {@code sgn(a[i] - a[j]) == sgn(Long.compare(get(i), get(j)))}.
+     * Note that this method doesn't change the original array.
+     * The sorted distinct values are kept in {@code scratch}, so no data is copied onto the heap.
+     * @param result the array to store the result, whose length must be at least {@code length()}.
+     * @param scratch the array used as the auxiliary space, whose length must be at least {@code length()}.
+     * @throws NullPointerException if either result or scratch is null.
+     * @throws IllegalArgumentException if either result or scratch is shorter than the array,
+     *                                  or any two of the arrays are the same.
+     */
+    public void discretize(OffHeapLongSortableArray result, OffHeapLongSortableArray scratch) {
+        Objects.requireNonNull(result);
+        Objects.requireNonNull(scratch);
+        if (result.length < length || scratch.length < length)
+            throw new IllegalArgumentException("The result or scratch array is shorter than the array.");
+        if (result == this || scratch == this || result == scratch)
+            throw new IllegalArgumentException("The arrays should be different.");
+
+        for (long i = 0; i < length; ++i)
+            scratch.store(i, load(i));
+        scratch.sort(0, length);
+
+        long newLen = scratch.unique(length);
+        for (long i = 0; i < length; ++i)
+            result.store(i, scratch.binarySearch(0, newLen, load(i)));
+    }
+
+    /**
+     * Swap two elements of the array of specified index.
+     * @param p The index of one of the element.
+     * @param q The index of another element.
+     * @throws IndexOutOfBoundsException if either index is out of range.
+     */
+    public void swap(long p, long q) {
+        checkIndex(p);
+        checkIndex(q);
+        exchange(p, q);
+    }
+
+    private void exchange(long p, long q) {
+        long tmp = load(p);
+        store(p, load(q));
+        store(q, tmp);
+    }
+
+    /**
+     * Rearrange the array, so that the k-th element is larger or equal than any
+     * element previous, and smaller or equal than any element after,
+     * using introselect, which falls back to heapsort of the remaining range
+     * when the selection gets too deep.
+     * @param k the position of partition.
+     * @throws IndexOutOfBoundsException if k is out of range.
+     */
+    public void partitionAt(long k) {
+        checkIndex(k);
+
+        long l = 0, r = length;
+        int depth = 2 * (64 - Long.numberOfLeadingZeros(length));
+        long[] bounds = new long[2];
+        while (r - l > INSERTION_SORT_THRESHOLD) {
+            if (depth-- == 0) {
+                heapSort(l, r);
+                return;
+            }
+
+            threeWayPartition(l, r, medianOfThree(l, l + (r - l) / 2, r - 1), bounds);
+            if (k < bounds[0])
+                r = bounds[0];
+            else if (k >= bounds[1])
+                l = bounds[1];
+            else
+                return;
+        }
+        insertionSort(l, r);
+    }
+}
@@ -0,0 +1,263 @@
+package org.jason5lee.algorithms;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * A parallel collision finder of a function by the distinguished point method
+ * of van Oorschot and Wiener.
+ * Every worker repeatedly walks from a new start point by the function
+ * until it reaches a distinguished point, and records only the distinguished point
+ * with the start point and the length of the trail in a shared table.
+ * When two trails from different start points reach the same distinguished point,
+ * they are walked again in step to find the two different elements with the same image.
+ * The workers share nothing but the table, so the throughput scales with the number of workers,
+ * and the memory is bounded by the maximum number of the distinguished points.
+ *
+ * @param <T> The type of the elements.
+ *
+ * @author Jason Lee(&#x674e;&#x4e1c;&#x6052;)
+ */
+public class ParallelCollisionFinder<T> {
+    /**
+     * A collision of the function, which is two different elements with the same image.
+     * @param <T> The type of the elements.
+     */
+    public static final class Collision<T> {
+        private final T first;
+        private final T second;
+        private final T image;
+
+        Collision(T first, T second, T image) {
+            this.first = first;
+            this.second = second;
+            this.image = image;
+        }
+
+        /**
+         * Get one of the colliding elements.
+         * @return the first element.
+         */
+        public T getFirst() {
+            return first;
+        }
+
+        /**
+         * Get the other colliding element, which is not equal to the first one.
+         * @return the second element.
+         */
+        public T getSecond() {
+            return second;
+        }
+
+        /**
+         * Get the image of both the colliding elements.
+         * @return the image.
+         */
+        public T getImage() {
+            return image;
+        }
+
+        @Override
+        public String toString() {
+            return "Collision{first=" + first + ", second=" + second + ", image=" + image + '}';
+        }
+    }
+
+    // The start point and the length of a trail ending at a distinguished point.
+    private static final class Trail<T> {
+        final T start;
+        final long length;
+
+        Trail(T start, long length) {
+            this.start = start;
+            this.length = length;
+        }
+    }
+
+    private final Function<T, T> f;
+    private final Predicate<? super T> distinguished;
+    private final Supplier<? extends T> startPoints;
+    private long maxTrailLength = 1 << 20;
+    private int maxDistinguishedPoints = 1 << 20;
+
+    private ParallelCollisionFinder(Function<T, T> f, Predicate<? super T> distinguished, Supplier<? extends T> startPoints) {
+        assert f != null;
+        assert distinguished != null;
+        assert startPoints != null;
+
+        this.f = f;
+        this.distinguished = distinguished;
+        this.startPoints = startPoints;
+    }
+
+    /**
+     * Returns the collision finder of the function.
+     * All the arguments are called by the workers concurrently, so they must be thread-safe.
+     * The fraction of the distinguished points decides the trade-off between the memory
+     * and the extra walking after a collision, which is about the inverse of the fraction.
+     * @param f the function.
+     * @param distinguished the predicate of the distinguished points.
+     * @param startPoints the supplier of the start points, which should be different ones.
+     * @param <U> the type of the elements.
+     * @return the collision finder.
+     * @throws NullPointerException if any argument is null.
+     */
+    public static <U> ParallelCollisionFinder<U> of(Function<U, U> f, Predicate<? super U> distinguished,
+                                                    Supplier<? extends U> startPoints) {
+        Objects.requireNonNull(f);
+        Objects.requireNonNull(distinguished);
+        Objects.requireNonNull(startPoints);
+
+        return new ParallelCollisionFinder<>(f, distinguished, startPoints);
+    }
+
+    /**
+     * Specify the maximum length of a trail. The trail that doesn't reach
+     * a distinguished point within it is abandoned, which may be caught in a cycle.
+     * Without specification, the default maximum trail length is 2^20.
+     * @param maxTrailLength the maximum trail length.
+     * @return the finder itself.
+     * @throws IllegalArgumentException if the maximum trail length is not positive.
+     */
+    public ParallelCollisionFinder<T> maxTrailLength(long maxTrailLength) {
+        if (maxTrailLength <= 0)
+            throw new IllegalArgumentException("The maximum trail length should be positive.");
+
+        this.maxTrailLength = maxTrailLength;
+        return this;
+    }
+
+    /**
+     * Specify the maximum number of the distinguished points in the table.
+     * The search fails when the table is full.
+     * Without specification, the default maximum number is 2^20.
+     * @param maxDistinguishedPoints the maximum number of the distinguished points.
+     * @return the finder itself.
+     * @throws IllegalArgumentException if the maximum number is not positive.
+     */
+    public ParallelCollisionFinder<T> maxDistinguishedPoints(int maxDistinguishedPoints) {
+        if (maxDistinguishedPoints <= 0)
+            throw new IllegalArgumentException("The maximum number of distinguished points should be positive.");
+
+        this.maxDistinguishedPoints = maxDistinguishedPoints;
+        return this;
+    }
+
+    /**
+     * Find a collision with the specified number of the workers running on the executor.
+     * It returns when any worker finds a collision, or the table is full.
+     * It doesn't terminate if neither can happen, for example when no point is distinguished
+     * or the start points never run out of new trails, unless the workers are interrupted,
+     * such as by {@link ExecutorService#shutdownNow()}.
+     * @param executor the executor that runs the workers.
+     * @param workers the number of the workers.
+     * @return the collision, or null if the table is full or the workers are interrupted
+     *         before any collision is found.
+     * @throws NullPointerException if the executor is null.
+     * @throws IllegalArgumentException if the number of the workers is not positive.
+     * @throws InterruptedException if interrupted while waiting for the workers.
+     */
+    public Collision<T> find(ExecutorService executor, int workers) throws InterruptedException {
+        Objects.requireNonNull(executor);
+        if (workers <= 0)
+            throw new IllegalArgumentException("The number of workers should be positive.");
+
+        ConcurrentHashMap<T, Trail<T>> table = new ConcurrentHashMap<>();
+        AtomicReference<Collision<T>> result = new AtomicReference<>();
+        AtomicBoolean stopped = new AtomicBoolean();
+        List<Callable<Void>> tasks = new ArrayList<>(workers);
+        for (int i = 0; i < workers; ++i) {
+            tasks.add(() -> {
+                try {
+                    work(table, result, stopped);
+                }
+                finally {
+                    // Stops the others if this worker fails.
+                    stopped.set(true);
+                }
+                return null;
+            });
+        }
+
+        for (Future<Void> future : executor.invokeAll(tasks)) {
+            try {
+                future.get();
+            }
+            catch (ExecutionException e) {
+                Throwable cause = e.getCause();
+                if (cause instanceof RuntimeException)
+                    throw (RuntimeException) cause;
+                if (cause instanceof Error)
+                    throw (Error) cause;
+                throw new AssertionError(cause);
+            }
+        }
+        return result.get();
+    }
+
+    private void work(ConcurrentHashMap<T, Trail<T>> table, AtomicReference<Collision<T>> result,
+                      AtomicBoolean stopped) {
+        Thread thread = Thread.currentThread();
+        while (!stopped.get() && !thread.isInterrupted()) {
+            T start = startPoints.get();
+            T current = start;
+            long length = 0;
+            while (length <= maxTrailLength && !distinguished.test(current)) {
+                if (thread.isInterrupted())
+                    return;
+                current = f.apply(current);
+                ++length;
+            }
+            if (length > maxTrailLength)
+                continue;
+
+            Trail<T> trail = new Trail<>(start, length);
+            Trail<T> other = table.putIfAbsent(current, trail);
+            if (other == null) {
+                if (table.size() >= maxDistinguishedPoints)
+                    stopped.set(true);
+                continue;
+            }
+
+            Collision<T> collision = locate(trail, other);
+            if (collision != null && result.compareAndSet(null, collision))
+                stopped.set(true);
+        }
+    }
+
+    // Walks the two trails ending at the same distinguished point in step,
+    // and returns the elements before they merge,
+    // or null if one start point is on the other trail.
+    private Collision<T> locate(Trail<T> trail, Trail<T> other) {
+        T a = trail.start;
+        T b = other.start;
+        for (long i = trail.length; i > other.length; --i)
+            a = f.apply(a);
+        for (long i = other.length; i > trail.length; --i)
+            b = f.apply(b);
+
+        if (Objects.equals(a, b))
+            return null;
+
+        while (true) {
+            T nextA = f.apply(a);
+            T nextB = f.apply(b);
+            if (Objects.equals(nextA, nextB))
+                return new Collision<>(a, b, nextA);
+            a = nextA;
+            b = nextB;
+        }
+    }
+}
@@ -0,0 +1,266 @@
+package org.jason5lee.algorithms;
+
+import java.util.Objects;
+
+/**
+ * An utility class including some functions that
+ * rearrange arrays by permutations, such as the ones returned by
+ * {@link SortableArray#argsort()}.
+ * The arrays are rearranged in place by following the cycles of the permutations,
+ * so the parallel column arrays can be reordered without any extra array.
+ *
+ * @author Jason Lee(&#x674e;&#x4e1c;&#x6052;)
+ */
+public final class Permutations {
+    // Suppresses default constructor, ensuring non-instantiability.
+    private Permutations() {
+        throw new AssertionError();
+    }
+
+    /**
+     * Rearranges the array by the permutation in place, so that the new i-th element
+     * is the old {@code array[permutation[i]]}, by following the cycles of the permutation.
+     * The permutation is used as the marks of the visited elements during the call,
+     * and is restored before the method returns.
+     * @param permutation the permutation of the indices of the array.
+     * @param array the array.
+     * @throws NullPointerException if either permutation or array is null.
+     * @throws IllegalArgumentException if the lengths are different or the permutation is invalid.
+     *                                  In the latter case the array may be partially rearranged.
+     */
+    public static void apply(int[] permutation, int[] array) {
+        Objects.requireNonNull(array);
+        checkPermutation(permutation, array.length);
+
+        try {
+            for (int i = 0; i < permutation.length; ++i) {
+                if (permutation[i] < 0)
+                    continue;
+
+                int tmp = array[i];
+                int j = i;
+                for (;;) {
+                    int k = permutation[j];
+                    permutation[j] = ~k;
+                    if (k == i) {
+                        array[j] = tmp;
+                        break;
+                    }
+                    if (permutation[k] < 0)
+                        throw new IllegalArgumentException("The permutation has duplicated indices.");
+                    array[j] = array[k];
+                    j = k;
+                }
+            }
+        }
+        finally {
+            restore(permutation);
+        }
+    }
+
+    /**
+     * Rearranges the array by the permutation in place, so that the new i-th element
+     * is the old {@code array[permutation[i]]}, by following the cycles of the permutation.
+     * The permutation is used as the marks of the visited elements during the call,
+     * and is restored before the method returns.
+     * @param permutation the permutation of the indices of the array.
+     * @param array the array.
+     * @throws NullPointerException if either permutation or array is null.
+     * @throws IllegalArgumentException if the lengths are different or the permutation is invalid.
+     *                                  In the latter case the array may be partially rearranged.
+     */
+    public static void apply(int[] permutation, long[] array) {
+        Objects.requireNonNull(array);
+        checkPermutation(permutation, array.length);
+
+        try {
+            for (int i = 0; i < permutation.length; ++i) {
+                if (permutation[i] < 0)
+                    continue;
+
+                long tmp = array[i];
+                int j = i;
+                for (;;) {
+                    int k = permutation[j];
+                    permutation[j] = ~k;
+                    if (k == i) {
+                        array[j] = tmp;
+                        break;
+                    }
+                    if (permutation[k] < 0)
+                        throw new IllegalArgumentException("The permutation has duplicated indices.");
+                    array[j] = array[k];
+                    j = k;
+                }
+            }
+        }
+        finally {
+            restore(permutation);
+        }
+    }
+
+    /**
+     * Rearranges the array by the permutation in place, so that the new i-th element
+     * is the old {@code array[permutation[i]]}, by following the cycles of the permutation.
+     * The permutation is used as the marks of the visited elements during the call,
+     * and is restored before the method returns.
+     * @param permutation the permutation of the indices of the array.
+     * @param array the array.
+     * @throws NullPointerException if either permutation or array is null.
+     * @throws IllegalArgumentException if the lengths are different or the permutation is invalid.
+     *                                  In the latter case the array may be partially rearranged.
+     */
+    public static void apply(int[] permutation, double[] array) {
+        Objects.requireNonNull(array);
+        checkPermutation(permutation, array.length);
+
+        try {
+            for (int i = 0; i < permutation.length; ++i) {
+                if (permutation[i] < 0)
+                    continue;
+
+                double tmp = array[i];
+                int j = i;
+                for (;;) {
+                    int k = permutation[j];
+                    permutation[j] = ~k;
+                    if (k == i) {
+                        array[j] = tmp;
+                        break;
+                    }
+                    if (permutation[k] < 0)
+                        throw new IllegalArgumentException("The permutation has duplicated indices.");
+                    array[j] = array[k];
+                    j = k;
+                }
+            }
+        }
+        finally {
+            restore(permutation);
+        }
+    }
+
+    /**
+     * Rearranges the array by the permutation in place, so that the new i-th element
+     * is the old {@code array[permutation[i]]}, by following the cycles of the permutation.
+     * The permutation is used as the marks of the visited elements during the call,
+     * and is restored before the method returns.
+     * @param permutation the permutation of the indices of the array.
+     * @param array the array.
+     * @throws NullPointerException if either permutation or array is null.
+     * @throws IllegalArgumentException if the lengths are different or the permutation is invalid.
+     *                                  In the latter case the array may be partially rearranged.
+     */
+    public static <T> void apply(int[] permutation, T[] array) {
+        Objects.requireNonNull(array);
+        checkPermutation(permutation, array.length);
+
+        try {
+            for (int i = 0; i < permutation.length; ++i) {
+                if (permutation[i] < 0)
+                    continue;
+
+                T tmp = array[i];
+                int j = i;
+                for (;;) {
+                    int k = permutation[j];
+                    permutation[j] = ~k;
+                    if (k == i) {
+                        array[j] = tmp;
+                        break;
+                    }
+                    if (permutation[k] < 0)
+                        throw new IllegalArgumentException("The permutation has duplicated indices.");
+                    array[j] = array[k];
+                    j = k;
+                }
+            }
+        }
+        finally {
+            restore(permutation);
+        }
+    }
+
+    /**
+     * Rearranges every array by the permutation in place,
+     * as by the {@code apply} method of its type.
+     * The first array is a separate parameter, so that a single array of objects
+     * is not taken as the array of the arrays.
+     * @param permutation the permutation of the indices of the arrays.
+     * @param first the first array.
+     * @param rest the other arrays.
+     *             Each array is an {@code int[]}, a {@code long[]}, a {@code double[]} or an array of objects.
+     * @throws NullPointerException if the permutation or any array is null.
+     * @throws IllegalArgumentException if any array has an unsupported type or a different length,
+     *                                  or the permutation is invalid.
+     *                                  The arrays and the permutation are checked before any array is rearranged.
+     */
+    public static void applyAll(int[] permutation, Object first, Object... rest) {
+        Objects.requireNonNull(permutation);
+        Object[] arrays = new Object[rest.length + 1];
+        arrays[0] = first;
+        System.arraycopy(rest, 0, arrays, 1, rest.length);
+
+        for (Object array : arrays) {
+            Objects.requireNonNull(array);
+            int length;
+            if (array instanceof int[])
+                length = ((int[]) array).length;
+            else if (array instanceof long[])
+                length = ((long[]) array).length;
+            else if (array instanceof double[])
+                length = ((double[]) array).length;
+            else if (array instanceof Object[])
+                length = ((Object[]) array).length;
+            else
+                throw new IllegalArgumentException("Unsupported array type: " + array.getClass().getName());
+
+            if (length != permutation.length)
+                throw new IllegalArgumentException("The lengths of the arrays are different.");
+        }
+        checkPermutation(permutation, permutation.length);
+        checkDistinct(permutation);
+
+        for (Object array : arrays) {
+            if (array instanceof int[])
+                apply(permutation, (int[]) array);
+            else if (array instanceof long[])
+                apply(permutation, (long[]) array);
+            else if (array instanceof double[])
+                apply(permutation, (double[]) array);
+            else
+                apply(permutation, (Object[]) array);
+        }
+    }
+
+    private static void checkPermutation(int[] permutation, int length) {
+        Objects.requireNonNull(permutation);
+        if (permutation.length != length)
+            throw new IllegalArgumentException("The lengths of the permutation and the array are different.");
+        for (int index : permutation)
+            if (index < 0 || index >= length)
+                throw new IllegalArgumentException("The index " + index + " is out of range.");
+    }
+
+    // Checks that the indices in range are distinct, marking every index as it is seen.
+    private static void checkDistinct(int[] permutation) {
+        try {
+            for (int i = 0; i < permutation.length; ++i) {
+                int k = permutation[i] < 0 ? ~permutation[i] : permutation[i];
+                if (permutation[k] < 0)
+                    throw new IllegalArgumentException("The permutation has duplicated indices.");
+                permutation[k] = ~permutation[k];
+            }
+        }
+        finally {
+            restore(permutation);
+        }
+    }
+
+    // Removes the marks of the visited indices.
+    private static void restore(int[] permutation) {
+        for (int i = 0; i < permutation.length; ++i)
+            if (permutation[i] < 0)
+                permutation[i] = ~permutation[i];
+    }
+}
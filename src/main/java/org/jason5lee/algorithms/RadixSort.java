@@ -0,0 +1,178 @@
+package org.jason5lee.algorithms;
+
+// The LSD radix sorts of 8-bit digits, which are stable and run in linear time.
+// The sign bits are flipped when the digits are extracted, so the signed values
+// are in the right order. The passes in which all the keys have the same digit are skipped.
+final class RadixSort {
+    private static final int RADIX = 256;
+    private static final int DIGIT_MASK = RADIX - 1;
+
+    // Suppresses default constructor, ensuring non-instantiability.
+    private RadixSort() {
+        throw new AssertionError();
+    }
+
+    static void sort(int[] a) {
+        int n = a.length;
+        int[][] counts = new int[Integer.BYTES][RADIX];
+        for (int x : a) {
+            int u = x ^ Integer.MIN_VALUE;
+            for (int d = 0; d < Integer.BYTES; ++d)
+                ++counts[d][(u >>> (d * 8)) & DIGIT_MASK];
+        }
+
+        int[] src = a, dst = new int[n];
+        for (int d = 0; d < Integer.BYTES; ++d) {
+            int[] offsets = offsets(counts[d], n);
+            if (offsets == null)
+                continue;
+
+            int shift = d * 8;
+            for (int x : src)
+                dst[offsets[((x ^ Integer.MIN_VALUE) >>> shift) & DIGIT_MASK]++] = x;
+            int[] tmp = src;
+            src = dst;
+            dst = tmp;
+        }
+        if (src != a)
+            System.arraycopy(src, 0, a, 0, n);
+    }
+
+    static void sort(long[] a) {
+        int n = a.length;
+        int[][] counts = longCounts(a);
+
+        long[] src = a, dst = new long[n];
+        for (int d = 0; d < Long.BYTES; ++d) {
+            int[] offsets = offsets(counts[d], n);
+            if (offsets == null)
+                continue;
+
+            int shift = d * 8;
+            for (long x : src)
+                dst[offsets[(int) ((x ^ Long.MIN_VALUE) >>> shift) & DIGIT_MASK]++] = x;
+            long[] tmp = src;
+            src = dst;
+            dst = tmp;
+        }
+        if (src != a)
+            System.arraycopy(src, 0, a, 0, n);
+    }
+
+    // Sorts the doubles in the order of Double.compare.
+    // The NaN values are collapsed into Double.NaN.
+    static void sort(double[] a) {
+        long[] keys = new long[a.length];
+        for (int i = 0; i < a.length; ++i)
+            keys[i] = doubleKey(Double.doubleToLongBits(a[i]));
+        sort(keys);
+        for (int i = 0; i < a.length; ++i)
+            a[i] = Double.longBitsToDouble(doubleKey(keys[i]));
+    }
+
+    // Maps the bits of a double to a long in the same order as Double.compare.
+    // The mapping is an involution, so it also maps the long back to the bits.
+    private static long doubleKey(long bits) {
+        return bits ^ ((bits >> 63) & Long.MAX_VALUE);
+    }
+
+    // Returns the indices of the keys, sorted stably by the keys.
+    static int[] sortedIndices(int[] keys) {
+        int n = keys.length;
+        int[][] counts = new int[Integer.BYTES][RADIX];
+        for (int x : keys) {
+            int u = x ^ Integer.MIN_VALUE;
+            for (int d = 0; d < Integer.BYTES; ++d)
+                ++counts[d][(u >>> (d * 8)) & DIGIT_MASK];
+        }
+
+        int[] srcKeys = keys.clone(), dstKeys = new int[n];
+        int[] srcIndices = identity(n), dstIndices = new int[n];
+        for (int d = 0; d < Integer.BYTES; ++d) {
+            int[] offsets = offsets(counts[d], n);
+            if (offsets == null)
+                continue;
+
+            int shift = d * 8;
+            for (int i = 0; i < n; ++i) {
+                int p = offsets[((srcKeys[i] ^ Integer.MIN_VALUE) >>> shift) & DIGIT_MASK]++;
+                dstKeys[p] = srcKeys[i];
+                dstIndices[p] = srcIndices[i];
+            }
+            int[] tmp = srcKeys;
+            srcKeys = dstKeys;
+            dstKeys = tmp;
+            tmp = srcIndices;
+            srcIndices = dstIndices;
+            dstIndices = tmp;
+        }
+        return srcIndices;
+    }
+
+    // Returns the indices of the keys, sorted stably by the keys.
+    static int[] sortedIndices(long[] keys) {
+        int n = keys.length;
+        int[][] counts = longCounts(keys);
+
+        long[] srcKeys = keys.clone(), dstKeys = new long[n];
+        int[] srcIndices = identity(n), dstIndices = new int[n];
+        for (int d = 0; d < Long.BYTES; ++d) {
+            int[] offsets = offsets(counts[d], n);
+            if (offsets == null)
+                continue;
+
+            int shift = d * 8;
+            for (int i = 0; i < n; ++i) {
+                int p = offsets[(int) ((srcKeys[i] ^ Long.MIN_VALUE) >>> shift) & DIGIT_MASK]++;
+                dstKeys[p] = srcKeys[i];
+                dstIndices[p] = srcIndices[i];
+            }
+            long[] tmpKeys = srcKeys;
+            srcKeys = dstKeys;
+            dstKeys = tmpKeys;
+            int[] tmp = srcIndices;
+            srcIndices = dstIndices;
+            dstIndices = tmp;
+        }
+        return srcIndices;
+    }
+
+    // Returns the indices of the keys, sorted stably by the keys in the order of Double.compare.
+    static int[] sortedIndices(double[] keys) {
+        long[] longKeys = new long[keys.length];
+        for (int i = 0; i < keys.length; ++i)
+            longKeys[i] = doubleKey(Double.doubleToLongBits(keys[i]));
+        return sortedIndices(longKeys);
+    }
+
+    private static int[][] longCounts(long[] a) {
+        int[][] counts = new int[Long.BYTES][RADIX];
+        for (long x : a) {
+            long u = x ^ Long.MIN_VALUE;
+            for (int d = 0; d < Long.BYTES; ++d)
+                ++counts[d][(int) (u >>> (d * 8)) & DIGIT_MASK];
+        }
+        return counts;
+    }
+
+    // Turns the counts of the digits into the starting offsets of the buckets in place.
+    // Returns null if all the n keys have the same digit, so the pass can be skipped.
+    private static int[] offsets(int[] counts, int n) {
+        int sum = 0;
+        for (int i = 0; i < RADIX; ++i) {
+            int count = counts[i];
+            if (count == n)
+                return null;
+            counts[i] = sum;
+            sum += count;
+        }
+        return counts;
+    }
+
+    private static int[] identity(int n) {
+        int[] indices = new int[n];
+        for (int i = 0; i < n; ++i)
+            indices[i] = i;
+        return indices;
+    }
+}
@@ -0,0 +1,22 @@
+package org.jason5lee.algorithms;
+
+/**
+ * The selection algorithms that can be used to partition an array
+ * at a specified position.
+ *
+ * @author Jason Lee(&#x674e;&#x4e1c;&#x6052;)
+ */
+public enum SelectionStrategy {
+    /**
+     * The BFPRT (median of medians) algorithm,
+     * which chooses every pivot by the median of medians.
+     */
+    BFPRT,
+    /**
+     * The introselect algorithm, which chooses the pivots by the median of three
+     * and falls back to the median of medians only when the range doesn't shrink enough.
+     * It partitions the range into three parts, the elements less than, equal to and
+     * greater than the pivot, so the arrays with many equal elements are handled in linear time.
+     */
+    INTROSELECT
+}
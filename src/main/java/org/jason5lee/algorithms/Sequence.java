@@ -0,0 +1,70 @@
+package org.jason5lee.algorithms;
+
+import java.util.Iterator;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * A sequence built by {@link SequenceBuilder}, which can be iterated
+ * more than once and be converted into streams.
+ *
+ * @param <T> The type of the elements of the sequence.
+ *
+ * @author Jason Lee(&#x674e;&#x4e1c;&#x6052;)
+ */
+public interface Sequence<T> extends Iterable<T> {
+    /**
+     * Returns a new spliterator of the elements, starting from the first one.
+     * The sequence of a specified length has a sized spliterator,
+     * which can also be split if the iterated function is a {@link JumpableFunction}.
+     * @return the spliterator.
+     */
+    @Override
+    default Spliterator<T> spliterator() {
+        return Spliterators.spliteratorUnknownSize(iterator(), Spliterator.ORDERED);
+    }
+
+    /**
+     * Returns the element at the index n.
+     * The sequences with cycle detection are eventually periodic,
+     * so n may be beyond the elements that the iterators stop at.
+     * They find the cycle once, then get any element in {@code O(tailLength + cycleLength)}
+     * evaluations, or directly if the iterated function is a {@link JumpableFunction}.
+     * The sequence of a specified length jumps to the element if the iterated function
+     * is a {@link JumpableFunction}, and steps to it otherwise.
+     * By default, it steps to the element by the iterator.
+     * @param n the index.
+     * @return the element.
+     * @throws IndexOutOfBoundsException if n is negative or not less than the length.
+     */
+    default T nth(long n) {
+        if (n < 0)
+            throw new IndexOutOfBoundsException("The index shouldn't be negative.");
+
+        Iterator<T> iterator = iterator();
+        for (long i = 0; i < n && iterator.hasNext(); ++i)
+            iterator.next();
+        if (!iterator.hasNext())
+            throw new IndexOutOfBoundsException("The index is beyond the sequence.");
+        return iterator.next();
+    }
+
+    /**
+     * Returns a new sequential stream of the elements.
+     * @return the stream.
+     */
+    default Stream<T> stream() {
+        return StreamSupport.stream(spliterator(), false);
+    }
+
+    /**
+     * Returns a new parallel stream of the elements.
+     * It's actually parallel only when the spliterator can be split.
+     * @return the stream.
+     */
+    default Stream<T> parallelStream() {
+        return StreamSupport.stream(spliterator(), true);
+    }
+}
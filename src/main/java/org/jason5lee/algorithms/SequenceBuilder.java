@@ -1,7 +1,9 @@
 package org.jason5lee.algorithms;
 
+import java.util.Comparator;
 import java.util.Objects;
 import java.util.function.Function;
+import java.util.function.Supplier;
 
 /**
  * A builder class for creating a sequence,
@@ -19,7 +21,13 @@ public class SequenceBuilder<T>{
     private Function<T, T> f;
     private final static int FLOYD = -1;
     private final static int HASH_MAP = -2;
+    private final static int BRENT = -3;
+    private final static int NIVASCH = -4;
     private int lengthOrCycleDetection;
+    private Comparator<? super T> comparator;
+    // The maximum number of the cached elements, or 0 if not cached.
+    private long maxCached;
+    private Metrics metrics;
 
     /**
      * Specify the first value of the sequence.
@@ -34,6 +42,8 @@ public class SequenceBuilder<T>{
 
     /**
      * Specify the iterated function.
+     * If it's a {@link JumpableFunction}, the sequence of a specified length
+     * can be split for the parallel streams.
      * @param f the iterated function
      * @return the builder itself.
      * @throws NullPointerException if the function is null.
@@ -55,6 +65,37 @@ public class SequenceBuilder<T>{
         return this;
     }
 
+    /**
+     * Use brent cycle detecting algorithm
+     * to determined whether the sequence has repeated
+     * values. Like floyd cycle detecting algorithm, it uses constant memory,
+     * but it applies the iterated function only once for each element,
+     * and stops earlier after the repeat.
+     * @return the builder itself.
+     */
+    public SequenceBuilder<T> brentCycleDetection() {
+        lengthOrCycleDetection = BRENT;
+        return this;
+    }
+
+    /**
+     * Use nivasch stack algorithm to determined whether
+     * the sequence has repeated values, with the comparator
+     * that orders the values. It keeps a stack of
+     * {@code O(log n)} values on average, applies the iterated function
+     * only once for each element, and stops within
+     * one cycle length after the first repeat.
+     * @param comparator the comparator of the values.
+     * @return the builder itself.
+     * @throws NullPointerException if the comparator is null.
+     */
+    public SequenceBuilder<T> nivaschCycleDetection(Comparator<? super T> comparator) {
+        Objects.requireNonNull(comparator);
+        this.comparator = comparator;
+        lengthOrCycleDetection = NIVASCH;
+        return this;
+    }
+
     /**
      * Use HashMap to detect whether the sequence
      * has repeated values.
@@ -82,23 +123,142 @@ public class SequenceBuilder<T>{
         return this;
     }
 
+    /**
+     * Record the evaluations of the iterated function into the metrics,
+     * as well as the elapsed time of {@link #detectCycle()}
+     * as the operation {@code "detectCycle"}.
+     * Without specification, nothing is recorded.
+     * @param metrics the metrics, or null to record nothing.
+     * @return the builder itself.
+     */
+    public SequenceBuilder<T> metrics(Metrics metrics) {
+        this.metrics = metrics;
+        return this;
+    }
+
+    /**
+     * Cache the elements of the built sequence without limit,
+     * which is the same as {@code cached(Long.MAX_VALUE)}.
+     * @return the builder itself.
+     */
+    public SequenceBuilder<T> cached() {
+        return cached(Long.MAX_VALUE);
+    }
+
+    /**
+     * Cache the elements of the built sequence, so its iterators,
+     * including the ones used by different threads, replay the computed elements
+     * instead of applying the iterated function again.
+     * The elements are computed lazily and cached in chunks.
+     * When more than the maximum number of elements are cached,
+     * the oldest chunks are evicted and recomputed when needed again.
+     * The first element of every chunk is always kept for recomputing,
+     * and at least two chunks are cached whatever the maximum number is.
+     * @param maxCached the maximum number of the cached elements.
+     * @return the builder itself.
+     * @throws IllegalArgumentException if the maximum number is not positive.
+     */
+    public SequenceBuilder<T> cached(long maxCached) {
+        if (maxCached <= 0)
+            throw new IllegalArgumentException("The maximum number of cached elements should be positive.");
+
+        this.maxCached = maxCached;
+        return this;
+    }
+
     /**
      * Build the sequences.
-     * @return the {@code Iterable<T>} object representing the sequence.
+     * @return the {@code Sequence<T>} object representing the sequence.
      * @throws IllegalStateException if you never specify the iterated function.
      */
-    public Iterable<T> build() {
+    public Sequence<T> build() {
         if (f == null)
             throw new IllegalStateException("No iterated function specified.");
 
+        Function<T, T> f = metrics == null ? this.f : metrics.counting(this.f);
+        Sequence<T> sequence;
         switch (lengthOrCycleDetection) {
             case FLOYD:
-                return new FloydCycleDetection<>(first, f);
+                sequence = new FloydCycleDetection<>(first, f);
+                break;
             case HASH_MAP:
-                return new HashSetCycleDetection<>(first, f);
+                sequence = new HashSetCycleDetection<>(first, f);
+                break;
+            case BRENT:
+                sequence = new BrentCycleDetection<>(first, f);
+                break;
+            case NIVASCH:
+                sequence = new NivaschCycleDetection<>(first, f, comparator);
+                break;
             default:
                 assert lengthOrCycleDetection >= 0;
-                return new FixLength<>(first, f, lengthOrCycleDetection);
+                sequence = new FixLength<>(first, f, lengthOrCycleDetection);
+                break;
+        }
+        return maxCached > 0 ? new CachedSequence<>(sequence, f, maxCached) : sequence;
+    }
+
+    // Applies the function k times, by jumping if the function is jumpable.
+    @SuppressWarnings("unchecked")
+    static <T> T applyTimes(Function<T, T> f, T x, long k) {
+        assert f != null;
+        assert k >= 0;
+
+        if (f instanceof JumpableFunction)
+            return ((JumpableFunction<T>) f).jump(x, k);
+        for (long i = 0; i < k; ++i)
+            x = f.apply(x);
+        return x;
+    }
+
+    // Returns the element at the index n of the eventually periodic sequence,
+    // whose cycle is detected by the supplier only if the function is not jumpable.
+    static <T> T nth(Function<T, T> f, T first, long n, Supplier<CycleInfo> cycle) {
+        assert f != null;
+        assert cycle != null;
+
+        if (n < 0)
+            throw new IndexOutOfBoundsException("The index shouldn't be negative.");
+        if (f instanceof JumpableFunction)
+            return applyTimes(f, first, n);
+        return applyTimes(f, first, cycle.get().periodicIndex(n));
+    }
+
+    /**
+     * Detect the cycle of the sequence with the specified cycle detection,
+     * and get its structure.
+     * The sequence must be eventually periodic, otherwise it never returns.
+     * @return the structure of the cycle.
+     * @throws IllegalStateException if you never specify the iterated function
+     *                               or the cycle detection.
+     */
+    public CycleInfo detectCycle() {
+        if (f == null)
+            throw new IllegalStateException("No iterated function specified.");
+
+        if (lengthOrCycleDetection >= 0)
+            throw new IllegalStateException("No cycle detection specified.");
+        if (metrics == null)
+            return detectCycle(f);
+
+        long start = System.nanoTime();
+        CycleInfo info = detectCycle(metrics.counting(f));
+        metrics.record("detectCycle", System.nanoTime() - start);
+        return info;
+    }
+
+    private CycleInfo detectCycle(Function<T, T> f) {
+        switch (lengthOrCycleDetection) {
+            case FLOYD:
+                return FloydCycleDetection.detect(first, f);
+            case HASH_MAP:
+                return HashSetCycleDetection.detect(first, f);
+            case BRENT:
+                return BrentCycleDetection.detect(first, f);
+            case NIVASCH:
+                return NivaschCycleDetection.detect(first, f, comparator);
+            default:
+                throw new AssertionError();
         }
     }
 }
@@ -2,13 +2,30 @@ package org.jason5lee.algorithms;
 
 import java.util.Arrays;
 import java.util.Comparator;
+import java.util.HashMap;
 import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
 
 /**
  * A wrapper class containing an array and a comparator.
  * @author Jason Lee(&#x674e;&#x4e1c;&#x6052;)
  */
 public class SortableArray<T> {
+    /**
+     * The default sequential cutoff of the parallel methods.
+     * Ranges no longer than it are processed in a single task.
+     */
+    public static final int DEFAULT_PARALLEL_THRESHOLD = 1 << 13;
+    // Below this length the selection sorts the range by insertion sort.
+    private static final int SELECTION_SORT_THRESHOLD = 16;
+    // The number of the consecutive rounds in which the range doesn't shrink to 3/4,
+    // before the introselect chooses the pivot by the median of medians.
+    private static final int INTROSELECT_STALLED_ROUNDS = 2;
+    // The number of the elements per key, below which the keys are searched by galloping.
+    private static final int GALLOP_DENSITY = 4;
+
     private T[] array;
     private Comparator<T> comparator;
 
@@ -20,7 +37,7 @@ public class SortableArray<T> {
         return comparator;
     }
 
-    private SortableArray(T[] array, Comparator<T> comparator) {
+    SortableArray(T[] array, Comparator<T> comparator) {
         assert array != null;
         assert comparator != null;
 
@@ -58,6 +75,27 @@ public class SortableArray<T> {
         return new SortableArray<>(array, Comparator.naturalOrder());
     }
 
+    /**
+     * Returns the wrapper containing the specified array and comparator,
+     * which records the comparator calls, the swaps and the elapsed time
+     * of sorting, selection and discretization into the metrics.
+     * The comparator of the wrapper is the counting one wrapping the specified comparator.
+     *
+     * @param array the array of the wrapper.
+     * @param comparator the comparator of the wrapper.
+     * @param metrics the metrics.
+     * @param <U> the underlying type of the array.
+     * @return the wrapper.
+     * @throws NullPointerException if any argument is null.
+     */
+    public static <U> SortableArray<U> of(U[] array, Comparator<U> comparator, Metrics metrics) {
+        Objects.requireNonNull(array);
+        Objects.requireNonNull(comparator);
+        Objects.requireNonNull(metrics);
+
+        return new InstrumentedSortableArray<>(array, comparator, metrics);
+    }
+
     /**
      * Sort the array.
      */
@@ -65,6 +103,145 @@ public class SortableArray<T> {
         Arrays.sort(array, comparator);
     }
 
+    /**
+     * Returns the permutation that sorts the array stably, without moving the elements.
+     * That is, {@code array[p[0]], array[p[1]], ...} are in ascending order,
+     * and the equal elements keep their original order.
+     * The permutation can be applied to the array and the companion arrays by
+     * {@link Permutations#applyAll(int[], Object, Object...)}.
+     * @return the permutation p.
+     */
+    public int[] argsort() {
+        int[] indices = new int[array.length];
+        for (int i = 0; i < indices.length; ++i)
+            indices[i] = i;
+        IntSortableArray.of(indices, (p, q) -> comparator.compare(array[p], array[q])).sort();
+        return indices;
+    }
+
+    /**
+     * Sort the array stably by the int keys of the elements with radix sort,
+     * in linear time. The comparator is not used.
+     * The key of every element is extracted exactly once.
+     * @param key the function extracting the key of an element.
+     * @throws NullPointerException if the function is null.
+     */
+    public void sortByIntKey(ToIntFunction<? super T> key) {
+        Objects.requireNonNull(key);
+
+        int[] keys = new int[array.length];
+        for (int i = 0; i < array.length; ++i)
+            keys[i] = key.applyAsInt(array[i]);
+        reorder(RadixSort.sortedIndices(keys));
+    }
+
+    /**
+     * Sort the array stably by the long keys of the elements with radix sort,
+     * in linear time. The comparator is not used.
+     * The key of every element is extracted exactly once.
+     * @param key the function extracting the key of an element.
+     * @throws NullPointerException if the function is null.
+     */
+    public void sortByLongKey(ToLongFunction<? super T> key) {
+        Objects.requireNonNull(key);
+
+        long[] keys = new long[array.length];
+        for (int i = 0; i < array.length; ++i)
+            keys[i] = key.applyAsLong(array[i]);
+        reorder(RadixSort.sortedIndices(keys));
+    }
+
+    // Moves array[order[i]] to array[i].
+    private void reorder(int[] order) {
+        T[] copy = array.clone();
+        for (int i = 0; i < order.length; ++i)
+            array[i] = copy[order[i]];
+    }
+
+    /**
+     * Sort the array in parallel in the specified pool,
+     * using the default sequential cutoff.
+     * The result is the same as the one of {@link #sort()}.
+     * @param pool the pool in which the sort runs.
+     * @throws NullPointerException if the pool is null.
+     */
+    public void sortParallel(ForkJoinPool pool) {
+        sortParallel(pool, DEFAULT_PARALLEL_THRESHOLD);
+    }
+
+    /**
+     * Sort the array in parallel in the specified pool.
+     * The result is the same as the one of {@link #sort()}.
+     * @param pool the pool in which the sort runs.
+     * @param threshold the sequential cutoff. The ranges no longer than it
+     *                  are sorted in a single task.
+     * @throws NullPointerException if the pool is null.
+     * @throws IllegalArgumentException if the threshold is not positive.
+     */
+    public void sortParallel(ForkJoinPool pool, int threshold) {
+        Objects.requireNonNull(pool);
+        checkThreshold(threshold);
+
+        MergeSort.sort(pool, array, comparator, threshold);
+    }
+
+    private static void checkThreshold(int threshold) {
+        if (threshold <= 0)
+            throw new IllegalArgumentException("The threshold should be positive.");
+    }
+
+    /**
+     * Counts the number of the inversion pairs, which are the pairs (i, j)
+     * such that {@code i < j} and {@code comparator.compare(array[i], array[j]) > 0},
+     * using merge sort.
+     * Note that this method doesn't change the original array.
+     * It sorts a scratch copy of the array.
+     * @return the number of the inversion pairs.
+     */
+    public long countInversions() {
+        return MergeSort.sortAndCountInversions(array.clone(), array.clone(), 0, array.length, comparator);
+    }
+
+    /**
+     * Sort the array with merge sort,
+     * and returns the number of the inversion pairs before sorting,
+     * as defined in {@link #countInversions()}.
+     * @return the number of the inversion pairs.
+     */
+    public long sortAndCountInversions() {
+        return MergeSort.sortAndCountInversions(array, array.clone(), 0, array.length, comparator);
+    }
+
+    /**
+     * The parallel version of {@link #countInversions()}
+     * running in the specified pool, using the default sequential cutoff.
+     * Note that this method doesn't change the original array.
+     * @param pool the pool in which the method runs.
+     * @return the number of the inversion pairs.
+     * @throws NullPointerException if the pool is null.
+     */
+    public long countInversionsParallel(ForkJoinPool pool) {
+        return countInversionsParallel(pool, DEFAULT_PARALLEL_THRESHOLD);
+    }
+
+    /**
+     * The parallel version of {@link #countInversions()}
+     * running in the specified pool.
+     * Note that this method doesn't change the original array.
+     * @param pool the pool in which the method runs.
+     * @param threshold the sequential cutoff. The ranges no longer than it
+     *                  are processed in a single task.
+     * @return the number of the inversion pairs.
+     * @throws NullPointerException if the pool is null.
+     * @throws IllegalArgumentException if the threshold is not positive.
+     */
+    public long countInversionsParallel(ForkJoinPool pool, int threshold) {
+        Objects.requireNonNull(pool);
+        checkThreshold(threshold);
+
+        return MergeSort.sortAndCountInversions(pool, array.clone(), array.clone(), comparator, threshold);
+    }
+
     /**
      * Removes all but the first element
      * from every consecutive group of equal elements,
@@ -116,6 +293,115 @@ public class SortableArray<T> {
         return Arrays.binarySearch(array, fromIndex, toIndex, key, comparator);
     }
 
+    /**
+     * Searches the array for every key of a sorted array of keys,
+     * as if {@link #binarySearch(int, int, Object)} were called with every key
+     * over the whole array, and stores the results into {@code out}.
+     * See {@link #binarySearchAll(int, int, Object[], int[])}.
+     * @param sortedKeys the keys, sorted into ascending order according to the comparator.
+     * @param out the array to store the results, whose length must be at least
+     *            {@code sortedKeys.length}. If it's null, a new array is created.
+     * @return the result array.
+     * @throws NullPointerException if the keys are null.
+     * @throws IllegalArgumentException if the result array is shorter than the keys.
+     */
+    public int[] binarySearchAll(T[] sortedKeys, int[] out) {
+        return binarySearchAll(0, array.length, sortedKeys, out);
+    }
+
+    /**
+     * Searches a range of the array for every key of a sorted array of keys,
+     * as if {@link #binarySearch(int, int, Object)} were called with every key,
+     * and stores the results into {@code out}.
+     * Both the range and the keys must be sorted into ascending order according to the comparator.
+     * If they are not sorted, the results are undefined.
+     * If the range contains multiple elements equal to a key, the index of the first one is stored.
+     * Since the answers of the keys are in the same order as the keys, every search only looks
+     * in the part of the range between the answers of the previous keys: the sparse keys split
+     * the range recursively, and the dense keys are searched by galloping from the previous answer.
+     * @param fromIndex the index of the first element (inclusive) to be searched
+     * @param toIndex the index of the last element (exclusive) to be searched
+     * @param sortedKeys the keys, sorted into ascending order according to the comparator.
+     * @param out the array to store the results, whose length must be at least
+     *            {@code sortedKeys.length}. If it's null, a new array is created.
+     * @return the result array, whose i-th element is the result of {@code sortedKeys[i]}
+     *         in the same form as the one of {@link #binarySearch(int, int, Object)}.
+     * @throws NullPointerException if the keys are null.
+     * @throws IllegalArgumentException
+     *         if {@code fromIndex > toIndex}, or the result array is shorter than the keys.
+     * @throws ArrayIndexOutOfBoundsException
+     *         if {@code fromIndex < 0 or toIndex > this.toArray().length}
+     */
+    public int[] binarySearchAll(int fromIndex, int toIndex, T[] sortedKeys, int[] out) {
+        Objects.requireNonNull(sortedKeys);
+        rangeCheck(fromIndex, toIndex);
+        if (out == null)
+            out = new int[sortedKeys.length];
+        else if (out.length < sortedKeys.length)
+            throw new IllegalArgumentException("The result array is shorter than the keys.");
+
+        lowerBoundAll(fromIndex, toIndex, sortedKeys, 0, sortedKeys.length, out);
+        for (int i = 0; i < sortedKeys.length; ++i) {
+            int p = out[i];
+            if (p == toIndex || comparator.compare(array[p], sortedKeys[i]) != 0)
+                out[i] = -(p + 1);
+        }
+        return out;
+    }
+
+    // Stores the lower bounds of the keys in keys[kl, kr) into out,
+    // which are known to be in [l, r].
+    private void lowerBoundAll(int l, int r, T[] keys, int kl, int kr, int[] out) {
+        if (kl >= kr)
+            return;
+
+        if ((long) (kr - kl) * GALLOP_DENSITY >= r - l) {
+            for (int i = kl; i < kr; ++i)
+                l = out[i] = gallop(l, r, keys[i]);
+            return;
+        }
+
+        int mid = (kl + kr) >>> 1;
+        int p = out[mid] = lowerBound(l, r, keys[mid]);
+        lowerBoundAll(l, p, keys, kl, mid, out);
+        lowerBoundAll(p, r, keys, mid + 1, kr, out);
+    }
+
+    // Returns the index of the first element in [l, r) that is not less than the key,
+    // or r if there's no such element.
+    private int lowerBound(int l, int r, T key) {
+        while (l < r) {
+            int mid = (l + r) >>> 1;
+            if (comparator.compare(array[mid], key) < 0)
+                l = mid + 1;
+            else
+                r = mid;
+        }
+        return r;
+    }
+
+    // The same as lowerBound, but probes l, l + 1, l + 3, l + 7, ... before the binary search,
+    // so it takes O(log d) comparisons, where d is the distance between l and the result.
+    private int gallop(int l, int r, T key) {
+        int step = 1;
+        int hi = l;
+        while (hi < r && comparator.compare(array[hi], key) < 0) {
+            l = hi + 1;
+            hi = r - l > step ? l + step : r;
+            step <<= 1;
+        }
+        return lowerBound(l, hi, key);
+    }
+
+    private void rangeCheck(int fromIndex, int toIndex) {
+        if (fromIndex > toIndex)
+            throw new IllegalArgumentException("fromIndex(" + fromIndex + ") > toIndex(" + toIndex + ")");
+        if (fromIndex < 0)
+            throw new ArrayIndexOutOfBoundsException(fromIndex);
+        if (toIndex > array.length)
+            throw new ArrayIndexOutOfBoundsException(toIndex);
+    }
+
     /**
      * Returns an integer array a[] with the length of {@code array.length} that satisfies
      *   (1) 0 <= a[i] < the number of distinct values in {@code array}.
@@ -136,6 +422,109 @@ public class SortableArray<T> {
         return result;
     }
 
+    /**
+     * Returns the same array as {@link #discretize()},
+     * by sorting the indices of the array once and assigning
+     * the values in a single pass over the sorted indices,
+     * instead of searching for every element.
+     * Passing the result array only saves the allocation of the result:
+     * the sorted indices and the buffer of the merge sort are still allocated.
+     * Note that this method doesn't change the original array.
+     * @param result the array to store the result, whose length must be
+     *               at least {@code array.length}. If it's null, a new array is created.
+     * @return the result array.
+     * @throws IllegalArgumentException if the result array is shorter than the array.
+     */
+    public int[] discretizeByIndexSort(int[] result) {
+        result = discretizeResult(result);
+
+        int[] indices = argsort();
+        int value = 0;
+        for (int i = 0; i < indices.length; ++i) {
+            if (i > 0 && comparator.compare(array[indices[i - 1]], array[indices[i]]) != 0)
+                ++value;
+            result[indices[i]] = value;
+        }
+        return result;
+    }
+
+    /**
+     * Returns an integer array a[] with the length of {@code array.length} that satisfies
+     *   (1) 0 <= a[i] < the number of distinct values in {@code array}.
+     *   (2) for each i, j that are in [0, {@code array.length}),
+     *      {@code a[i] == a[j]} if and only if {@code array[i].equals(array[j])}.
+     * Unlike {@link #discretize()}, the values are assigned by a hash table
+     * in the order of the first appearances, so they don't preserve the order.
+     * The elements are compared by {@code equals} and {@code hashCode} instead of the comparator,
+     * so the result is the same partition as the one of {@link #discretize()} only if
+     * the comparator is consistent with equals.
+     * Passing the result array only saves the allocation of the result:
+     * the hash table and the boxed values in it are still allocated.
+     * Note that this method doesn't change the original array.
+     * @param result the array to store the result, whose length must be
+     *               at least {@code array.length}. If it's null, a new array is created.
+     * @return the result array.
+     * @throws IllegalArgumentException if the result array is shorter than the array.
+     */
+    public int[] discretizeByHash(int[] result) {
+        result = discretizeResult(result);
+
+        HashMap<T, Integer> values = new HashMap<>();
+        for (int i = 0; i < array.length; ++i) {
+            Integer value = values.putIfAbsent(array[i], values.size());
+            result[i] = value == null ? values.size() - 1 : value;
+        }
+        return result;
+    }
+
+    private int[] discretizeResult(int[] result) {
+        if (result == null)
+            return new int[array.length];
+        if (result.length < array.length)
+            throw new IllegalArgumentException("The result array is shorter than the array.");
+        return result;
+    }
+
+    /**
+     * The parallel version of {@link #discretize()}
+     * running in the specified pool, using the default sequential cutoff.
+     * The result is the same as the one of {@link #discretize()}.
+     * @param pool the pool in which the method runs.
+     * @return the array a.
+     * @throws NullPointerException if the pool is null.
+     */
+    public int[] discretizeParallel(ForkJoinPool pool) {
+        return discretizeParallel(pool, DEFAULT_PARALLEL_THRESHOLD);
+    }
+
+    /**
+     * The parallel version of {@link #discretize()}
+     * running in the specified pool.
+     * The result is the same as the one of {@link #discretize()}.
+     * @param pool the pool in which the method runs.
+     * @param threshold the sequential cutoff. The ranges no longer than it
+     *                  are processed in a single task.
+     * @return the array a.
+     * @throws NullPointerException if the pool is null.
+     * @throws IllegalArgumentException if the threshold is not positive.
+     */
+    public int[] discretizeParallel(ForkJoinPool pool, int threshold) {
+        Objects.requireNonNull(pool);
+        checkThreshold(threshold);
+
+        SortableArray<T> unique = new SortableArray<>(array.clone(), comparator);
+        unique.sortParallel(pool, threshold);
+
+        int newLen = unique.unique();
+        int[] result = new int[array.length];
+        pool.invoke(new ForkJoinRange(0, array.length, threshold, (from, to) -> {
+            for (int i = from; i < to; ++i)
+                result[i] = unique.binarySearch(0, newLen, array[i]);
+        }));
+
+        return result;
+    }
+
     /**
      * Swap two elements of the array of specified index.
      * @param p The index of one of the element.
@@ -162,8 +551,9 @@ public class SortableArray<T> {
         compareAndSwap(start+1, start+2);
     }
 
-    // Partition the array using BFPRT algorithm.
-    private int BFPRTPartition(int l, int r) {
+    // Moves the medians of medians to the front of the range
+    // and returns the one at array[l], which is used as the pivot.
+    private T BFPRTPivot(int l, int r) {
         int newR = r;
         while (newR - l > 5) {
             int ptr = l;
@@ -173,8 +563,12 @@ public class SortableArray<T> {
             }
             newR = ptr;
         }
+        return array[l];
+    }
 
-        T pv = array[l];
+    // Partition the array using BFPRT algorithm.
+    private int BFPRTPartition(int l, int r) {
+        T pv = BFPRTPivot(l, r);
         int ptr = l;
         for (int i = l + 1; i < r; ++i) {
             if (comparator.compare(array[i], pv) < 0) {
@@ -203,4 +597,192 @@ public class SortableArray<T> {
                 r = pv;
         }
     }
+
+    /**
+     * Rearrange the array, so that array[k] is larger or equal than any
+     * element previous, and smaller or equal than any element after,
+     * using the specified selection algorithm.
+     * @param k the position of partition.
+     * @param strategy the selection algorithm.
+     * @throws NullPointerException if the strategy is null.
+     * @throws ArrayIndexOutOfBoundsException if k is not a valid index of the array.
+     */
+    public void partitionAt(int k, SelectionStrategy strategy) {
+        Objects.requireNonNull(strategy);
+        if (k < 0 || k >= array.length)
+            throw new ArrayIndexOutOfBoundsException(k);
+
+        switch (strategy) {
+            case BFPRT:
+                partitionAt(k);
+                break;
+            case INTROSELECT:
+                introSelect(k);
+                break;
+            default:
+                throw new AssertionError();
+        }
+    }
+
+    private void introSelect(int k) {
+        int l = 0, r = array.length;
+        int stalled = 0;
+        int[] bounds = new int[2];
+        while (r - l > SELECTION_SORT_THRESHOLD) {
+            int len = r - l;
+            T pv;
+            if (stalled < INTROSELECT_STALLED_ROUNDS)
+                pv = medianOfThree(l, l + len / 2, r - 1);
+            else {
+                pv = BFPRTPivot(l, r);
+                stalled = 0;
+            }
+
+            threeWayPartition(l, r, pv, bounds);
+            if (k < bounds[0])
+                r = bounds[0];
+            else if (k >= bounds[1])
+                l = bounds[1];
+            else
+                return;
+
+            if (r - l > len - len / 4)
+                ++stalled;
+            else
+                stalled = 0;
+        }
+        insertionSort(l, r);
+    }
+
+    /**
+     * Rearrange the array, so that for every k in ks, array[k] is larger or
+     * equal than any element previous, and smaller or equal than any element after,
+     * as if {@link #partitionAt(int)} were called with every k.
+     * All the positions are placed in one recursive selection, which only descends
+     * into the parts that still contain a requested position, so it does far fewer
+     * comparisons than selecting them one by one.
+     * @param ks the positions of partition, in any order.
+     * @return the array of the elements at the positions,
+     *         whose i-th element is {@code array[ks[i]]}.
+     * @throws NullPointerException if ks is null.
+     * @throws ArrayIndexOutOfBoundsException if any k is not a valid index of the array.
+     */
+    public T[] partitionAtAll(int... ks) {
+        Objects.requireNonNull(ks);
+
+        int[] sortedKs = ks.clone();
+        Arrays.sort(sortedKs);
+        if (sortedKs.length > 0) {
+            if (sortedKs[0] < 0)
+                throw new ArrayIndexOutOfBoundsException(sortedKs[0]);
+            if (sortedKs[sortedKs.length - 1] >= array.length)
+                throw new ArrayIndexOutOfBoundsException(sortedKs[sortedKs.length - 1]);
+        }
+        multiSelect(0, array.length, sortedKs, 0, sortedKs.length, 0);
+
+        T[] result = Arrays.copyOf(array, ks.length);
+        for (int i = 0; i < ks.length; ++i)
+            result[i] = array[ks[i]];
+        return result;
+    }
+
+    /**
+     * Returns the quantiles of the array by the nearest-rank method,
+     * that is, the q-quantile is the element at the position
+     * {@code max(0, ceil(q * array.length) - 1)} of the sorted array.
+     * The array is rearranged as by {@link #partitionAtAll(int...)} with the positions.
+     * For example, {@code quantiles(0.5, 0.9, 0.99, 0.999)} returns p50, p90, p99 and p999.
+     * @param qs the quantiles, each of which is in [0, 1].
+     * @return the array of the quantiles, in the same order as qs.
+     * @throws NullPointerException if qs is null.
+     * @throws IllegalArgumentException if any q is not in [0, 1].
+     * @throws ArrayIndexOutOfBoundsException if the array is empty and qs isn't.
+     */
+    public T[] quantiles(double... qs) {
+        Objects.requireNonNull(qs);
+
+        int[] ks = new int[qs.length];
+        for (int i = 0; i < qs.length; ++i) {
+            if (!(qs[i] >= 0 && qs[i] <= 1))
+                throw new IllegalArgumentException("The quantile should be in [0, 1].");
+            ks[i] = Math.max(0, (int) Math.ceil(qs[i] * array.length) - 1);
+        }
+        return partitionAtAll(ks);
+    }
+
+    // Places every position in ks[kl, kr), which is sorted and lies in [l, r).
+    // stalled is the number of the consecutive rounds in which the range didn't shrink enough.
+    private void multiSelect(int l, int r, int[] ks, int kl, int kr, int stalled) {
+        int[] bounds = new int[2];
+        while (kl < kr) {
+            if (r - l <= SELECTION_SORT_THRESHOLD) {
+                insertionSort(l, r);
+                return;
+            }
+
+            int len = r - l;
+            T pv;
+            if (stalled < INTROSELECT_STALLED_ROUNDS)
+                pv = medianOfThree(l, l + len / 2, r - 1);
+            else {
+                pv = BFPRTPivot(l, r);
+                stalled = 0;
+            }
+
+            threeWayPartition(l, r, pv, bounds);
+            int lt = bounds[0], gt = bounds[1];
+            // The positions in ks[kl, mid1) are in the less part,
+            // and the ones in ks[mid2, kr) are in the greater part.
+            int mid1 = BinarySearch.findLeastTrue(kl, kr, i -> ks[i] >= lt);
+            int mid2 = BinarySearch.findLeastTrue(mid1, kr, i -> ks[i] >= gt);
+
+            if (kl < mid1)
+                multiSelect(l, lt, ks, kl, mid1, lt - l > len - len / 4 ? stalled + 1 : 0);
+            stalled = r - gt > len - len / 4 ? stalled + 1 : 0;
+            l = gt;
+            kl = mid2;
+        }
+    }
+
+    private T medianOfThree(int a, int b, int c) {
+        compareAndSwap(a, b);
+        compareAndSwap(b, c);
+        compareAndSwap(a, b);
+        return array[b];
+    }
+
+    // Partition array[l, r) into the elements less than, equal to and greater than the pivot,
+    // and stores the bounds of the equal part into bounds[0] (inclusive) and bounds[1] (exclusive).
+    private void threeWayPartition(int l, int r, T pv, int[] bounds) {
+        int lt = l, i = l, gt = r;
+        while (i < gt) {
+            int cmp = comparator.compare(array[i], pv);
+            // The self-swaps are skipped, so they are not counted by the instrumented array.
+            if (cmp < 0) {
+                if (lt != i)
+                    swap(lt, i);
+                ++lt;
+                ++i;
+            }
+            else if (cmp > 0) {
+                --gt;
+                if (i != gt)
+                    swap(i, gt);
+            }
+            else
+                ++i;
+        }
+        bounds[0] = lt;
+        bounds[1] = gt;
+    }
+
+    private void insertionSort(int l, int r) {
+        for (int i = l + 1; i < r; ++i) {
+            T v = array[i];
+            int j = i;
+            for (; j > l && comparator.compare(array[j - 1], v) > 0; --j)
+                array[j] = array[j - 1];
+            array[j] = v;
+        }
+    }
 }
@@ -0,0 +1,427 @@
+package org.jason5lee.algorithms;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Objects;
+
+/**
+ * An immutable index of a sorted array, which answers the lower-bound,
+ * upper-bound and rank queries with fewer cache misses than binary search on large arrays.
+ * The elements are stored in an implicit B+ tree: the leaves are the sorted array itself,
+ * and every node above is a block of 16 separators, which are the first elements of its
+ * children. A search reads one block per level, so it touches about
+ * {@code log17(n)} blocks instead of {@code log2(n)} scattered elements,
+ * and the position reached in the leaves is directly the index in the sorted array.
+ * {@link OfLong} is the specialization for {@code int} and {@code long} keys,
+ * whose blocks of 8 keys fill a cache line and are scanned without branches.
+ * Its batch searches descend the tree with a group of keys at once,
+ * so that the cache misses of the different keys overlap.
+ *
+ * @param <T> The type of the elements.
+ *
+ * @author Jason Lee(&#x674e;&#x4e1c;&#x6052;)
+ */
+public final class StaticSortedIndex<T> {
+    // The number of the keys in a block. A block of compressed references takes one cache line.
+    private static final int B = 16;
+    // The number of the keys in a block of OfLong, which takes one cache line.
+    private static final int L = 8;
+    // The maximum number of elements, so that the indices of all the blocks fit in an int.
+    private static final int MAX_SIZE = 1 << 30;
+    // The number of the keys searched together by the batch searches.
+    private static final int GROUP = 32;
+
+    // The blocks of all the levels, starting from the leaves.
+    // The unused keys at the ends of the levels are never compared,
+    // so the elements can be anything the comparator accepts, including null.
+    private final Object[] keys;
+    // The offsets of the levels in keys.
+    private final int[] offsets;
+    private final int size;
+    private final Comparator<? super T> comparator;
+
+    private StaticSortedIndex(Object[] keys, int[] offsets, int size, Comparator<? super T> comparator) {
+        this.keys = keys;
+        this.offsets = offsets;
+        this.size = size;
+        this.comparator = comparator;
+    }
+
+    /**
+     * Returns the index of the array of the wrapper,
+     * which must be sorted according to its comparator.
+     * Later changes of the array don't affect the index.
+     * @param sorted the wrapper of the sorted array.
+     * @param <U> the type of the elements.
+     * @return the index.
+     * @throws NullPointerException if the wrapper is null.
+     * @throws IllegalArgumentException if the array is not sorted or too large.
+     */
+    public static <U> StaticSortedIndex<U> of(SortableArray<U> sorted) {
+        Objects.requireNonNull(sorted);
+        return of(sorted.getArray(), sorted.getComparator());
+    }
+
+    /**
+     * Returns the index of the array,
+     * which must be sorted according to the comparator.
+     * Later changes of the array don't affect the index.
+     * @param sorted the sorted array.
+     * @param comparator the comparator.
+     * @param <U> the type of the elements.
+     * @return the index.
+     * @throws NullPointerException if either the array or the comparator is null.
+     * @throws IllegalArgumentException if the array is not sorted or too large.
+     */
+    public static <U> StaticSortedIndex<U> of(U[] sorted, Comparator<? super U> comparator) {
+        Objects.requireNonNull(sorted);
+        Objects.requireNonNull(comparator);
+        checkSize(sorted.length);
+        for (int i = 1; i < sorted.length; ++i)
+            if (comparator.compare(sorted[i - 1], sorted[i]) > 0)
+                throw new IllegalArgumentException("The array is not sorted.");
+
+        int[] offsets = offsets(sorted.length, B);
+        Object[] keys = new Object[offsets[offsets.length - 1]];
+        System.arraycopy(sorted, 0, keys, 0, sorted.length);
+        buildSeparators(offsets, B, (dst, src) -> keys[dst] = keys[src]);
+        return new StaticSortedIndex<>(keys, Arrays.copyOf(offsets, offsets.length - 1), sorted.length, comparator);
+    }
+
+    /**
+     * Returns the number of the elements.
+     * @return the size.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the index of the first element in the sorted array
+     * that is not less than the key.
+     * @param key the key.
+     * @return the index, or {@code size()} if all the elements are less than the key.
+     */
+    public int lowerBound(T key) {
+        return search(key, 0);
+    }
+
+    /**
+     * Returns the index of the first element in the sorted array
+     * that is greater than the key.
+     * @param key the key.
+     * @return the index, or {@code size()} if no element is greater than the key.
+     */
+    public int upperBound(T key) {
+        return search(key, 1);
+    }
+
+    /**
+     * Returns the number of the elements less than the key,
+     * which is the same as {@link #lowerBound(Object)}.
+     * @param key the key.
+     * @return the rank of the key.
+     */
+    public int rank(T key) {
+        return lowerBound(key);
+    }
+
+    // Returns the index of the first element e such that compare(e, key) >= bound.
+    private int search(T key, int bound) {
+        int k = 0;
+        for (int h = offsets.length - 1; h >= 0; --h) {
+            int base = offsets[h] + k * B;
+            int used = usedKeys(h, k);
+            int i = 0;
+            // The keys in a block are sorted, so the scan stops at the first one not before the key.
+            while (i < used && compare(keys[base + i], key) < bound)
+                ++i;
+            k = h > 0 ? k * (B + 1) + i : base + i;
+        }
+        return Math.min(k, size);
+    }
+
+    // Returns the number of the used keys in the block k of the level h.
+    // A key of an upper level is used if the child after it exists.
+    private int usedKeys(int h, int k) {
+        int used = h == 0
+                ? size - k * B
+                : (offsets[h] - offsets[h - 1]) / B - k * (B + 1) - 1;
+        return Math.max(Math.min(used, B), 0);
+    }
+
+    @SuppressWarnings("unchecked")
+    private int compare(Object element, T key) {
+        return comparator.compare((T) element, key);
+    }
+
+    /**
+     * The specialization of {@link StaticSortedIndex} for {@code int} and {@code long} keys,
+     * which are ordered by {@link Long#compare(long, long)}.
+     */
+    public static final class OfLong {
+        // The blocks of all the levels, starting from the leaves.
+        // The unused keys are Long.MAX_VALUE.
+        private final long[] keys;
+        // The offsets of the levels in keys.
+        private final int[] offsets;
+        private final int size;
+
+        private OfLong(long[] keys, int[] offsets, int size) {
+            this.keys = keys;
+            this.offsets = offsets;
+            this.size = size;
+        }
+
+        /**
+         * Returns the index of the array, which must be sorted into ascending order.
+         * Later changes of the array don't affect the index.
+         * @param sorted the sorted array.
+         * @return the index.
+         * @throws NullPointerException if the array is null.
+         * @throws IllegalArgumentException if the array is not sorted or too large.
+         */
+        public static OfLong of(long[] sorted) {
+            Objects.requireNonNull(sorted);
+            checkSize(sorted.length);
+            for (int i = 1; i < sorted.length; ++i)
+                if (sorted[i - 1] > sorted[i])
+                    throw new IllegalArgumentException("The array is not sorted.");
+
+            int[] offsets = offsets(sorted.length, L);
+            long[] keys = new long[offsets[offsets.length - 1]];
+            Arrays.fill(keys, Long.MAX_VALUE);
+            System.arraycopy(sorted, 0, keys, 0, sorted.length);
+            buildSeparators(offsets, L, (dst, src) -> keys[dst] = keys[src]);
+            return new OfLong(keys, Arrays.copyOf(offsets, offsets.length - 1), sorted.length);
+        }
+
+        /**
+         * Returns the index of the array, which must be sorted into ascending order.
+         * Later changes of the array don't affect the index.
+         * @param sorted the sorted array.
+         * @return the index.
+         * @throws NullPointerException if the array is null.
+         * @throws IllegalArgumentException if the array is not sorted or too large.
+         */
+        public static OfLong of(int[] sorted) {
+            Objects.requireNonNull(sorted);
+
+            long[] values = new long[sorted.length];
+            for (int i = 0; i < sorted.length; ++i)
+                values[i] = sorted[i];
+            return of(values);
+        }
+
+        /**
+         * Returns the index of the array of the wrapper,
+         * which must be sorted into ascending order.
+         * Later changes of the array don't affect the index.
+         * @param sorted the wrapper of the sorted array.
+         * @return the index.
+         * @throws NullPointerException if the wrapper is null.
+         * @throws IllegalArgumentException if the wrapper has a comparator,
+         *                                  or the array is not sorted or too large.
+         */
+        public static OfLong of(LongSortableArray sorted) {
+            Objects.requireNonNull(sorted);
+            if (sorted.getComparator() != null)
+                throw new IllegalArgumentException("Only the natural ordering is supported.");
+            return of(sorted.getArray());
+        }
+
+        /**
+         * Returns the index of the array of the wrapper,
+         * which must be sorted into ascending order.
+         * Later changes of the array don't affect the index.
+         * @param sorted the wrapper of the sorted array.
+         * @return the index.
+         * @throws NullPointerException if the wrapper is null.
+         * @throws IllegalArgumentException if the wrapper has a comparator,
+         *                                  or the array is not sorted or too large.
+         */
+        public static OfLong of(IntSortableArray sorted) {
+            Objects.requireNonNull(sorted);
+            if (sorted.getComparator() != null)
+                throw new IllegalArgumentException("Only the natural ordering is supported.");
+            return of(sorted.getArray());
+        }
+
+        /**
+         * Returns the number of the elements.
+         * @return the size.
+         */
+        public int size() {
+            return size;
+        }
+
+        /**
+         * Returns the index of the first element in the sorted array
+         * that is not less than the key.
+         * @param key the key.
+         * @return the index, or {@code size()} if all the elements are less than the key.
+         */
+        public int lowerBound(long key) {
+            long[] keys = this.keys;
+            int k = 0;
+            for (int h = offsets.length - 1; h > 0; --h) {
+                int base = offsets[h] + k * L;
+                int i = 0;
+                for (int j = 0; j < L; ++j)
+                    i += keys[base + j] < key ? 1 : 0;
+                k = k * (L + 1) + i;
+            }
+
+            int base = k * L;
+            int i = 0;
+            for (int j = 0; j < L; ++j)
+                i += keys[base + j] < key ? 1 : 0;
+            return Math.min(base + i, size);
+        }
+
+        /**
+         * Returns the index of the first element in the sorted array
+         * that is greater than the key.
+         * @param key the key.
+         * @return the index, or {@code size()} if no element is greater than the key.
+         */
+        public int upperBound(long key) {
+            // The unused keys would be counted as not greater than Long.MAX_VALUE.
+            if (key == Long.MAX_VALUE)
+                return size;
+            return lowerBound(key + 1);
+        }
+
+        /**
+         * Returns the number of the elements less than the key,
+         * which is the same as {@link #lowerBound(long)}.
+         * @param key the key.
+         * @return the rank of the key.
+         */
+        public int rank(long key) {
+            return lowerBound(key);
+        }
+
+        /**
+         * Returns the lower bounds of all the keys, which are the same as
+         * the ones returned by {@link #lowerBound(long)} for every key.
+         * A single search is a chain of dependent cache misses, one per level,
+         * so the keys are searched together in groups to overlap the misses,
+         * which gives a higher throughput on arrays much larger than the cache.
+         * @param keys the keys.
+         * @param result the array to store the result, whose length must be
+         *               at least {@code keys.length}. If it's null, a new array is created.
+         * @return the result array.
+         * @throws NullPointerException if the keys are null.
+         * @throws IllegalArgumentException if the result array is shorter than the keys.
+         */
+        public int[] lowerBounds(long[] keys, int[] result) {
+            return searchAll(keys, result, false);
+        }
+
+        /**
+         * Returns the upper bounds of all the keys, which are the same as
+         * the ones returned by {@link #upperBound(long)} for every key.
+         * The keys are searched in groups like {@link #lowerBounds(long[], int[])}.
+         * @param keys the keys.
+         * @param result the array to store the result, whose length must be
+         *               at least {@code keys.length}. If it's null, a new array is created.
+         * @return the result array.
+         * @throws NullPointerException if the keys are null.
+         * @throws IllegalArgumentException if the result array is shorter than the keys.
+         */
+        public int[] upperBounds(long[] keys, int[] result) {
+            return searchAll(keys, result, true);
+        }
+
+        private int[] searchAll(long[] keys, int[] result, boolean upper) {
+            Objects.requireNonNull(keys);
+            if (result == null)
+                result = new int[keys.length];
+            else if (result.length < keys.length)
+                throw new IllegalArgumentException("The result array is shorter than the keys.");
+
+            long[] blocks = this.keys;
+            // The upper bound of a key is the lower bound of the next one.
+            long delta = upper ? 1 : 0;
+            // The index of the current block of every key in the group, within its level.
+            int[] current = new int[GROUP];
+            // The result of the first step of the binary search in the current block.
+            int[] first = new int[GROUP];
+            for (int from = 0; from < keys.length; from += GROUP) {
+                int n = Math.min(GROUP, keys.length - from);
+                Arrays.fill(current, 0, n, 0);
+                for (int h = offsets.length - 1; h >= 0; --h) {
+                    int offset = offsets[h];
+                    // The first pass only takes the first step for every key, so that the loads
+                    // of all the blocks are issued together and their cache misses overlap.
+                    for (int t = 0; t < n; ++t)
+                        first[t] = blocks[offset + current[t] * L + (L >> 1) - 1] < keys[from + t] + delta ? L >> 1 : 0;
+                    // The second pass finishes the branchless binary searches in the blocks,
+                    // which are in the cache now, counting the keys less than the key.
+                    for (int t = 0; t < n; ++t) {
+                        long key = keys[from + t] + delta;
+                        int k = current[t];
+                        int base = offset + k * L;
+                        int i = first[t];
+                        for (int step = L >> 2; step > 0; step >>= 1)
+                            i += blocks[base + i + step - 1] < key ? step : 0;
+                        i += blocks[base + i] < key ? 1 : 0;
+                        current[t] = h > 0 ? k * (L + 1) + i : base + i;
+                    }
+                }
+                for (int t = 0; t < n; ++t) {
+                    // The unused keys would be counted as not greater than Long.MAX_VALUE.
+                    boolean last = upper && keys[from + t] == Long.MAX_VALUE;
+                    result[from + t] = last ? size : Math.min(current[t], size);
+                }
+            }
+            return result;
+        }
+    }
+
+    @FunctionalInterface
+    private interface Copy {
+        void copy(int dst, int src);
+    }
+
+    private static void checkSize(int size) {
+        if (size > MAX_SIZE)
+            throw new IllegalArgumentException("The array is too large.");
+    }
+
+    // Returns the offsets of the levels of the tree of n elements in blocks of b keys,
+    // starting from the leaves, followed by the total number of the keys.
+    private static int[] offsets(int n, int b) {
+        int levels = 1;
+        for (int blocks = Math.max((n + b - 1) / b, 1); blocks > 1; blocks = (blocks + b) / (b + 1))
+            ++levels;
+
+        int[] offsets = new int[levels + 1];
+        int blocks = Math.max((n + b - 1) / b, 1);
+        for (int h = 0; h < levels; ++h) {
+            offsets[h + 1] = offsets[h] + blocks * b;
+            blocks = (blocks + b) / (b + 1);
+        }
+        return offsets;
+    }
+
+    // Fills the separators of the levels above the leaves in blocks of b keys. The j-th key of the block k
+    // of the level h is the first element of its child k * (b + 1) + j + 1,
+    // which is the first element of the leaf block (k * (b + 1) + j + 1) * (b + 1)^(h - 1).
+    private static void buildSeparators(int[] offsets, int b, Copy copy) {
+        long span = 1;
+        for (int h = 1; h + 1 < offsets.length; ++h) {
+            int blocks = (offsets[h + 1] - offsets[h]) / b;
+            int children = (offsets[h] - offsets[h - 1]) / b;
+            for (int k = 0; k < blocks; ++k) {
+                for (int j = 0; j < b; ++j) {
+                    long child = (long) k * (b + 1) + j + 1;
+                    if (child < children)
+                        copy.copy(offsets[h] + k * b + j, (int) (child * span * b));
+                }
+            }
+            span *= b + 1;
+        }
+    }
+}
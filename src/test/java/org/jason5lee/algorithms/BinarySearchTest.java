@@ -3,6 +3,10 @@ package org.jason5lee.algorithms;
 import org.junit.Assert;
 import org.junit.Test;
 
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
 /**
  * Unit test for simple OrderableArray.
  */
@@ -69,4 +73,121 @@ public class BinarySearchTest  {
         Assert.assertEquals(-Math.PI, doubleSqrt(-Math.PI), 1e-7);
         Assert.assertTrue(true);
     }
+
+    @Test
+    public void testIntParallel() throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            for (int k = 1; k <= 9; ++k) {
+                for (int x = -3; x <= 200; ++x) {
+                    int target = x;
+                    Assert.assertEquals(intSqrt(x), BinarySearch.findLeastTrue(0, x, n -> n*n >= target, k, executor));
+                }
+                Assert.assertEquals(Integer.MAX_VALUE - 1, BinarySearch.findLeastTrue(Integer.MIN_VALUE, Integer.MAX_VALUE,
+                        n -> n >= Integer.MAX_VALUE - 1, k, executor));
+                Assert.assertEquals(Integer.MAX_VALUE, BinarySearch.findLeastTrue(Integer.MIN_VALUE, Integer.MAX_VALUE,
+                        n -> false, k, executor));
+                Assert.assertEquals(Integer.MIN_VALUE, BinarySearch.findLeastTrue(Integer.MIN_VALUE, Integer.MAX_VALUE,
+                        n -> true, k, executor));
+            }
+
+            AtomicInteger tests = new AtomicInteger();
+            BinarySearch.findLeastTrue(0, 1000000, n -> { tests.incrementAndGet(); return n >= 123456; }, 7, executor);
+            Assert.assertTrue(tests.get() <= 7 * 7);
+        }
+        finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testIntParallelException() throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            BinarySearch.findLeastTrue(0, 100, n -> { throw new IllegalStateException(); }, 3, executor);
+        }
+        finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testIntParallelArgCheck() throws InterruptedException {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            BinarySearch.findLeastTrue(0, 100, n -> true, 0, executor);
+        }
+        finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testLong() {
+        long big = 3L << 40;
+        Assert.assertEquals(big + 5, BinarySearch.findLeastTrueLong(0, 1L << 50, n -> n >= big + 5));
+        Assert.assertEquals(1L << 50, BinarySearch.findLeastTrueLong(0, 1L << 50, n -> false));
+        Assert.assertEquals(-7, BinarySearch.findLeastTrueLong(Long.MIN_VALUE, Long.MAX_VALUE, n -> n >= -7));
+        Assert.assertEquals(Long.MAX_VALUE - 1, BinarySearch.findLeastTrueLong(Long.MIN_VALUE, Long.MAX_VALUE, n -> n == Long.MAX_VALUE - 1));
+        Assert.assertEquals(Long.MIN_VALUE, BinarySearch.findLeastTrueLong(Long.MIN_VALUE, Long.MAX_VALUE, n -> true));
+        Assert.assertEquals(-3, BinarySearch.findLeastTrueLong(5, -3, n -> true));
+    }
+
+    @Test
+    public void testGallop() {
+        long[] bounds = { Long.MIN_VALUE, -1000, -1, 0, 1, 999, 1L << 40, Long.MAX_VALUE };
+        long[] hints = { Long.MIN_VALUE, -2000, -500, 0, 3, 1000, 1L << 41, Long.MAX_VALUE };
+        for (long l : bounds) {
+            for (long r : bounds) {
+                for (long answer : bounds) {
+                    for (long hint : hints) {
+                        Assert.assertEquals(BinarySearch.findLeastTrueLong(l, r, n -> n >= answer),
+                                BinarySearch.gallopLeastTrue(l, r, hint, n -> n >= answer));
+                        Assert.assertEquals(BinarySearch.findLeastTrueLong(l, r, n -> n > answer),
+                                BinarySearch.gallopLeastTrue(l, r, hint, n -> n > answer));
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testGallopTests() {
+        for (long d = 0; d < 100000; d = d * 3 + 1) {
+            long answer = (1L << 60) + d;
+            int[] tests = new int[1];
+            long result = BinarySearch.gallopLeastTrue(0, 1L << 60, n -> { ++tests[0]; return n >= answer; });
+            Assert.assertEquals(answer, result);
+            Assert.assertTrue(tests[0] <= 2 * (64 - Long.numberOfLeadingZeros(d)) + 2);
+
+            tests[0] = 0;
+            long lower = (1L << 60) - d;
+            Assert.assertEquals(lower, BinarySearch.gallopLeastTrue(0, 1L << 60, n -> { ++tests[0]; return n >= lower; }));
+            Assert.assertTrue(tests[0] <= 2 * (64 - Long.numberOfLeadingZeros(d)) + 2);
+        }
+        Assert.assertEquals(Long.MAX_VALUE, BinarySearch.gallopLeastTrue(0, 0, n -> false));
+    }
+
+    @Test
+    public void testDoubleExact() {
+        int[] tests = new int[1];
+        double sqrt2 = BinarySearch.findLeastTrueExact(0, 2, x -> { ++tests[0]; return x * x >= 2; });
+        Assert.assertTrue(sqrt2 * sqrt2 >= 2);
+        Assert.assertTrue(Math.nextDown(sqrt2) * Math.nextDown(sqrt2) < 2);
+        Assert.assertTrue(tests[0] <= 64);
+
+        tests[0] = 0;
+        Assert.assertEquals(-1e300, BinarySearch.findLeastTrueExact(Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY,
+                x -> { ++tests[0]; return x >= -1e300; }), 0);
+        Assert.assertTrue(tests[0] <= 64);
+
+        Assert.assertEquals(Double.MIN_VALUE, BinarySearch.findLeastTrueExact(-1, 1, x -> x > 0), 0);
+        Assert.assertEquals(Double.NEGATIVE_INFINITY, BinarySearch.findLeastTrueExact(Double.NEGATIVE_INFINITY, 0, x -> true), 0);
+        Assert.assertEquals(Double.POSITIVE_INFINITY, BinarySearch.findLeastTrueExact(0, Double.POSITIVE_INFINITY, x -> false), 0);
+        Assert.assertEquals(Math.nextUp(1e308), BinarySearch.findLeastTrueExact(0, Double.POSITIVE_INFINITY, x -> x > 1e308), 0);
+        Assert.assertEquals(-Math.PI, BinarySearch.findLeastTrueExact(1, -Math.PI, x -> true), 0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testDoubleExactNaNCheck() { BinarySearch.findLeastTrueExact(0, Double.NaN, x -> true); }
 }
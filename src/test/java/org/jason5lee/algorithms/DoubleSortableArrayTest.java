@@ -0,0 +1,70 @@
+package org.jason5lee.algorithms;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Arrays;
+
+/**
+ * Unit test for DoubleSortableArray.
+ */
+public class DoubleSortableArrayTest {
+    @Test
+    public void testSortAndUnique() {
+        double[] arr = new double[] { 2.5, Double.NaN, -0.0, 0.0, -1.5, 0.0, Double.NEGATIVE_INFINITY };
+        DoubleSortableArray acw = DoubleSortableArray.of(arr);
+        acw.sort();
+        Assert.assertArrayEquals(new double[] {Double.NEGATIVE_INFINITY, -1.5, -0.0, 0.0, 0.0, 2.5, Double.NaN}, arr, 0);
+        Assert.assertEquals(6, acw.unique());
+        Assert.assertEquals(-1, Double.compare(arr[2], arr[3]));
+    }
+
+    @Test
+    public void testBinarySearch() {
+        double[] arr = new double[] {1.0, 2.0, 3.1, 4.4, 5.2, 7.3, 9.9};
+        DoubleSortableArray acw = DoubleSortableArray.of(arr);
+        Assert.assertEquals(3, acw.binarySearch(0, 7, 4.4));
+        Assert.assertEquals(-4, acw.binarySearch(0, 3, 100.0));
+        Assert.assertEquals(-4, acw.binarySearch(3, 7, 0.0));
+    }
+
+    @Test
+    public void testDiscretize() {
+        double[] arr = new double[] {1.1, Math.PI, Math.E, 2.0, 5.0, 1.1, 1.7, 2.0, Math.PI};
+        DoubleSortableArray acw = DoubleSortableArray.of(arr, (a, b) -> Double.compare(Math.abs(a - 2), Math.abs(b - 2)));
+        // Sorted by the distance to 2: 2.0 1.7 Math.E 1.1 Math.PI 5.0
+        Assert.assertArrayEquals(new int[] {3, 4, 2, 0, 5, 3, 1, 0, 4}, acw.discretize());
+    }
+
+    @Test
+    public void testPartitionAt() {
+        double[] arr = new double[] { 1.5, 7, 4, 2, 3, 5, 2, 0.5 };
+        DoubleSortableArray acw = DoubleSortableArray.of(arr);
+        acw.partitionAt(4);
+        Assert.assertEquals(3, arr[4], 0);
+    }
+
+    @Test
+    public void testQuantiles() {
+        double[] arr = new double[] { 5.5, 0.5, 9.5, 3.5, 1.5, 7.5, 2.5, 8.5, 4.5, 6.5 };
+        Assert.assertArrayEquals(new double[] { 4.5, 8.5, 0.5 }, DoubleSortableArray.of(arr).quantiles(0.5, 0.9, 0), 0);
+    }
+
+    @Test
+    public void testRadixSort() {
+        double[] arr = new double[] { 2.5, Double.NaN, -0.0, 0.0, -1.5, Double.MIN_VALUE, -Double.MAX_VALUE,
+                Double.POSITIVE_INFINITY, 0.0, Double.NEGATIVE_INFINITY, 1e300, -1e-300 };
+        double[] expected = arr.clone();
+        Arrays.sort(expected);
+        DoubleSortableArray.of(arr).radixSort();
+        Assert.assertArrayEquals(expected, arr, 0);
+    }
+
+    @Test
+    public void testArgsort() {
+        double[] arr = new double[] { 2.5, -1.0, 2.5, Double.NaN, -0.0, 0.0 };
+        Assert.assertArrayEquals(new int[] { 1, 4, 5, 0, 2, 3 }, DoubleSortableArray.of(arr).argsort());
+        Assert.assertArrayEquals(new int[] { 3, 0, 2, 5, 4, 1 },
+                DoubleSortableArray.of(arr, (a, b) -> Double.compare(b, a)).argsort());
+    }
+}
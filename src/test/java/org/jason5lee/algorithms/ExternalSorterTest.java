@@ -0,0 +1,173 @@
+package org.jason5lee.algorithms;
+
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Unit test for ExternalSorter.
+ */
+public class ExternalSorterTest {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    // A record of a key and its position in the input.
+    private static final ExternalSorter.RecordCodec<long[]> CODEC = new ExternalSorter.RecordCodec<long[]>() {
+        @Override
+        public int recordSize() {
+            return 12;
+        }
+
+        @Override
+        public long[] read(ByteBuffer buffer) {
+            return new long[] { buffer.getInt(), buffer.getLong() };
+        }
+
+        @Override
+        public void write(ByteBuffer buffer, long[] record) {
+            buffer.putInt((int) record[0]);
+            buffer.putLong(record[1]);
+        }
+    };
+
+    private static final Comparator<long[]> BY_KEY = Comparator.comparingLong(r -> r[0]);
+
+    private Path writeRecords(long[][] records) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(records.length * CODEC.recordSize());
+        for (long[] record : records)
+            CODEC.write(buffer, record);
+        Path path = folder.newFile().toPath();
+        Files.write(path, buffer.array());
+        return path;
+    }
+
+    private long[][] readRecords(Path path) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(path));
+        long[][] records = new long[buffer.capacity() / CODEC.recordSize()][];
+        for (int i = 0; i < records.length; ++i)
+            records[i] = CODEC.read(buffer);
+        return records;
+    }
+
+    private long[][] randomRecords(int n) {
+        Random random = new Random(11);
+        long[][] records = new long[n][];
+        for (int i = 0; i < n; ++i)
+            records[i] = new long[] { random.nextInt(50), i };
+        return records;
+    }
+
+    @Test
+    public void testSortWithMergePasses() throws IOException {
+        long[][] records = randomRecords(1000);
+        Path input = writeRecords(records);
+        Path output = folder.newFile().toPath();
+        Path temp = folder.newFolder().toPath();
+
+        long[] spilled = new long[1];
+        List<int[]> passes = new ArrayList<>();
+        long count = ExternalSorter.of(CODEC, BY_KEY)
+                .runLength(64)
+                .bufferSize(100)
+                .fanIn(3)
+                .tempDirectory(temp)
+                .listener(new ExternalSorter.Listener() {
+                    @Override
+                    public void onSpill(long bytes) {
+                        spilled[0] += bytes;
+                    }
+
+                    @Override
+                    public void onMergePass(int pass, int inputRuns, int outputRuns) {
+                        passes.add(new int[] { pass, inputRuns, outputRuns });
+                    }
+                })
+                .sort(input, output);
+
+        Assert.assertEquals(1000, count);
+        // The records with equal keys keep their order.
+        long[][] expected = records.clone();
+        Arrays.sort(expected, BY_KEY);
+        Assert.assertArrayEquals(expected, readRecords(output));
+
+        // 16 runs -> 6 -> 2 -> output.
+        Assert.assertEquals(3, passes.size());
+        Assert.assertArrayEquals(new int[] { 1, 16, 6 }, passes.get(0));
+        Assert.assertArrayEquals(new int[] { 2, 6, 2 }, passes.get(1));
+        Assert.assertArrayEquals(new int[] { 3, 2, 1 }, passes.get(2));
+        // 16 runs, the 5 merged runs of the first pass and the 2 merged runs of the second pass.
+        Assert.assertEquals(1000L * 12 + (1000L - 1000 % 64) * 12 + 1000L * 12, spilled[0]);
+        Assert.assertEquals(0, temp.toFile().list().length);
+    }
+
+    @Test
+    public void testSortInOneRun() throws IOException {
+        long[][] records = randomRecords(100);
+        Path output = folder.newFile().toPath();
+        int[] events = new int[1];
+        ExternalSorter.of(CODEC, BY_KEY)
+                .listener(new ExternalSorter.Listener() {
+                    @Override
+                    public void onSpill(long bytes) {
+                        ++events[0];
+                    }
+                })
+                .sort(writeRecords(records), output);
+
+        long[][] expected = records.clone();
+        Arrays.sort(expected, BY_KEY);
+        Assert.assertArrayEquals(expected, readRecords(output));
+        Assert.assertEquals(0, events[0]);
+    }
+
+    @Test
+    public void testSortExactRunLength() throws IOException {
+        long[][] records = randomRecords(100);
+        Path output = folder.newFile().toPath();
+        int[] events = new int[1];
+        ExternalSorter.of(CODEC, BY_KEY)
+                .runLength(100)
+                .listener(new ExternalSorter.Listener() {
+                    @Override
+                    public void onSpill(long bytes) {
+                        ++events[0];
+                    }
+                })
+                .sort(writeRecords(records), output);
+
+        long[][] expected = records.clone();
+        Arrays.sort(expected, BY_KEY);
+        Assert.assertArrayEquals(expected, readRecords(output));
+        Assert.assertEquals(0, events[0]);
+    }
+
+    @Test
+    public void testSortIntoInput() throws IOException {
+        long[][] records = randomRecords(100);
+        Path input = writeRecords(records);
+        try {
+            ExternalSorter.of(CODEC, BY_KEY).sort(input, input);
+            Assert.fail();
+        }
+        catch (IllegalArgumentException ignored) {}
+        Assert.assertArrayEquals(records, readRecords(input));
+    }
+
+    @Test(expected = IOException.class)
+    public void testPartialRecord() throws IOException {
+        Path input = folder.newFile().toPath();
+        Files.write(input, new byte[13]);
+        ExternalSorter.of(CODEC, BY_KEY).sort(input, folder.newFile().toPath());
+    }
+}
@@ -0,0 +1,131 @@
+package org.jason5lee.algorithms;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Unit test for IntSortableArray.
+ */
+public class IntSortableArrayTest {
+    @Test
+    public void testNull() {
+        try {
+            IntSortableArray.of(null);
+            Assert.fail();
+        }
+        catch (NullPointerException ignored) {}
+
+        try {
+            IntSortableArray.of(new int[2], null);
+            Assert.fail();
+        }
+        catch (NullPointerException ignored) {}
+    }
+
+    @Test
+    public void testSort() {
+        int[] arr = new int[] { 2, 4, 5, 3, 9, 7, 1 };
+        IntSortableArray acw = IntSortableArray.of(arr);
+        acw.sort();
+        Assert.assertSame(arr, acw.getArray());
+        Assert.assertArrayEquals(new int[] {1, 2, 3, 4, 5, 7, 9}, arr);
+
+        acw = IntSortableArray.of(arr, (a, b) -> Integer.compare(b, a));
+        acw.sort();
+        Assert.assertArrayEquals(new int[] {9, 7, 5, 4, 3, 2, 1}, arr);
+    }
+
+    @Test
+    public void testSortWithComparatorIsStable() {
+        // Compares only the tens digit.
+        int[] arr = new int[] { 31, 12, 35, 11, 20, 33, 14, 5, 38, 17, 22 };
+        IntSortableArray.of(arr, (a, b) -> Integer.compare(a / 10, b / 10)).sort();
+        Assert.assertArrayEquals(new int[] {5, 12, 11, 14, 17, 20, 22, 31, 35, 33, 38}, arr);
+    }
+
+    @Test
+    public void testUnique() {
+        int[] arr = new int[] { 1, 1, 2, 2, 2, 3, 4, 3, 5 };
+        IntSortableArray acw = IntSortableArray.of(arr);
+        Assert.assertEquals(6, acw.unique());
+        Assert.assertArrayEquals(new int[] {1, 2, 3, 4, 3, 5, 4, 3, 5}, arr);
+        Assert.assertEquals(0, IntSortableArray.of(new int[0]).unique());
+    }
+
+    @Test
+    public void testBinarySearch() {
+        int[] arr = new int[] { 9, 7, 5, 4, 3, 2, 1 };
+        IntSortableArray acw = IntSortableArray.of(arr, (a, b) -> Integer.compare(b, a));
+        Assert.assertEquals(3, acw.binarySearch(0, 7, 4));
+        Assert.assertEquals(-4, acw.binarySearch(0, 3, 0));
+        Assert.assertEquals(-4, acw.binarySearch(3, 7, 100));
+
+        try {
+            acw.binarySearch(4, 3, 2);
+            Assert.fail();
+        }
+        catch (IllegalArgumentException ignored) {}
+
+        try {
+            acw.binarySearch(0, 8, 2);
+            Assert.fail();
+        }
+        catch (ArrayIndexOutOfBoundsException ignored) {}
+    }
+
+    @Test
+    public void testDiscretize() {
+        int[] arr = new int[] { 11, 31, 27, 20, 50, 11, 17, 20, 31 };
+        IntSortableArray acw = IntSortableArray.of(arr);
+        int[] dis = acw.discretize();
+
+        Assert.assertArrayEquals(new int[] {11, 31, 27, 20, 50, 11, 17, 20, 31}, arr);
+        Assert.assertArrayEquals(new int[] {0, 4, 3, 2, 5, 0, 1, 2, 4}, dis);
+    }
+
+    @Test
+    public void testPartitionAt() {
+        int[] arr = new int[] { 1, 7, 4, 2, 3, 5, 2, 8, 6, 0, 9, 2 };
+        IntSortableArray acw = IntSortableArray.of(arr);
+        acw.partitionAt(3);
+        Assert.assertEquals(2, arr[3]);
+        acw.partitionAt(8);
+        Assert.assertEquals(6, arr[8]);
+        for (int i = 0; i < 8; ++i)
+            Assert.assertTrue(arr[i] <= 6);
+        for (int i = 9; i < arr.length; ++i)
+            Assert.assertTrue(arr[i] >= 6);
+    }
+
+    @Test
+    public void testCountInversions() {
+        int[] arr = new int[] { 3, 1, 2, 5, 4, 4, 0, 9, 8, 7, 6, 2 };
+        IntSortableArray acw = IntSortableArray.of(arr);
+        Assert.assertEquals(24, acw.countInversions());
+        Assert.assertArrayEquals(new int[] { 3, 1, 2, 5, 4, 4, 0, 9, 8, 7, 6, 2 }, arr);
+        Assert.assertEquals(40, IntSortableArray.of(arr, (a, b) -> Integer.compare(b, a)).countInversions());
+        Assert.assertEquals(24, acw.sortAndCountInversions());
+        Assert.assertArrayEquals(new int[] { 0, 1, 2, 2, 3, 4, 4, 5, 6, 7, 8, 9 }, arr);
+    }
+
+    @Test
+    public void testRadixSort() {
+        Random random = new Random(17);
+        int[] arr = new int[5000];
+        for (int i = 0; i < arr.length; ++i)
+            arr[i] = i % 10 == 0 ? Integer.MIN_VALUE + i : random.nextInt();
+        int[] expected = arr.clone();
+        Arrays.sort(expected);
+        IntSortableArray.of(arr).radixSort();
+        Assert.assertArrayEquals(expected, arr);
+
+        try {
+            IntSortableArray.of(arr, Integer::compare).radixSort();
+            Assert.fail();
+        }
+        catch (IllegalStateException ignored) {}
+    }
+}
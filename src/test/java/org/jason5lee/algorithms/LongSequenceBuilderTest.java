@@ -0,0 +1,79 @@
+package org.jason5lee.algorithms;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.PrimitiveIterator;
+
+/**
+ * Unit test for LongSequenceBuilder.
+ */
+public class LongSequenceBuilderTest {
+    private static LongSequenceBuilder rho(int tailLength, int cycleLength) {
+        return new LongSequenceBuilder()
+                .first(-tailLength)
+                .iterateBy(x -> x + 1 < cycleLength ? x + 1 : 0);
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void testNullIteratedFunction() {
+        new LongSequenceBuilder().iterateBy(null);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testNoIteratedFunction() {
+        new LongSequenceBuilder().build();
+    }
+
+    @Test
+    public void testFixLength() {
+        LongSequence seq = new LongSequenceBuilder()
+                .first(1)
+                .iterateBy(x -> x * 7 % 10)
+                .length(5)
+                .build();
+
+        Assert.assertArrayEquals(new long[] { 1, 7, 9, 3, 1 }, seq.stream().toArray());
+        PrimitiveIterator.OfLong itor = seq.iterator();
+        for (int i = 0; i < 5; ++i)
+            itor.nextLong();
+        Assert.assertFalse(itor.hasNext());
+    }
+
+    @Test
+    public void testCycleDetection() {
+        for (int tailLength = 0; tailLength < 30; tailLength += 3) {
+            for (int cycleLength = 1; cycleLength < 30; cycleLength += 2) {
+                int distinct = tailLength + cycleLength;
+                long[] expected = rho(tailLength, cycleLength).length(distinct).build().stream().toArray();
+
+                Assert.assertArrayEquals(expected, rho(tailLength, cycleLength).hashMapCycleDetection().build().stream().toArray());
+                for (LongSequence seq : new LongSequence[] {
+                        rho(tailLength, cycleLength).floydCycleDetection().build(),
+                        rho(tailLength, cycleLength).brentCycleDetection().build(),
+                        rho(tailLength, cycleLength).nivaschCycleDetection().build() }) {
+                    long[] values = seq.stream().toArray();
+                    Assert.assertTrue(values.length >= distinct);
+                    for (int i = 0; i < values.length; ++i)
+                        Assert.assertEquals(expected[i < distinct ? i : tailLength + (i - tailLength) % cycleLength], values[i]);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testLargeHashSet() {
+        // Both 0 and the negative values are in the set.
+        LongSequence seq = new LongSequenceBuilder()
+                .first(-50000)
+                .iterateBy(x -> x < 49999 ? x + 1 : 0)
+                .hashMapCycleDetection()
+                .build();
+        Assert.assertEquals(100000, seq.stream().count());
+
+        int count = 0;
+        for (long ignored : seq)
+            ++count;
+        Assert.assertEquals(100000, count);
+    }
+}
@@ -0,0 +1,68 @@
+package org.jason5lee.algorithms;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Unit test for LongSortableArray.
+ */
+public class LongSortableArrayTest {
+    @Test
+    public void testSort() {
+        long[] arr = new long[] { 2, Long.MIN_VALUE, 5, 3, Long.MAX_VALUE, 7, 1 };
+        LongSortableArray acw = LongSortableArray.of(arr);
+        acw.sort();
+        Assert.assertArrayEquals(new long[] {Long.MIN_VALUE, 1, 2, 3, 5, 7, Long.MAX_VALUE}, arr);
+
+        LongSortableArray.of(arr, (a, b) -> Long.compare(b, a)).sort();
+        Assert.assertArrayEquals(new long[] {Long.MAX_VALUE, 7, 5, 3, 2, 1, Long.MIN_VALUE}, arr);
+    }
+
+    @Test
+    public void testDiscretize() {
+        long[] arr = new long[] { 1L << 40, 3, 1L << 40, -2 };
+        Assert.assertArrayEquals(new int[] {2, 1, 2, 0}, LongSortableArray.of(arr).discretize());
+        Assert.assertArrayEquals(new int[] {0, 1, 0, 2},
+                LongSortableArray.of(arr, (a, b) -> Long.compare(b, a)).discretize());
+    }
+
+    @Test
+    public void testPartitionAt() {
+        long[] arr = new long[] { 1, 7, 4, 2, 3, 5, 2 };
+        LongSortableArray acw = LongSortableArray.of(arr);
+        acw.partitionAt(3);
+        Assert.assertEquals(3, arr[3]);
+        acw.partitionAt(5);
+        Assert.assertEquals(5, arr[5]);
+    }
+
+    @Test
+    public void testIntroSelectWithManyEqualElements() {
+        long[] arr = new long[5000];
+        for (int i = 0; i < arr.length; ++i)
+            arr[i] = i % 7 == 0 ? i : 42;
+        long[] sorted = arr.clone();
+        Arrays.sort(sorted);
+
+        for (int k : new int[] { 0, 100, 2500, 4999 }) {
+            long[] copy = arr.clone();
+            LongSortableArray.of(copy).partitionAt(k, SelectionStrategy.INTROSELECT);
+            Assert.assertEquals(sorted[k], copy[k]);
+        }
+    }
+
+    @Test
+    public void testRadixSort() {
+        Random random = new Random(19);
+        long[] arr = new long[5000];
+        for (int i = 0; i < arr.length; ++i)
+            arr[i] = random.nextLong() >> random.nextInt(64);
+        long[] expected = arr.clone();
+        Arrays.sort(expected);
+        LongSortableArray.of(arr).radixSort();
+        Assert.assertArrayEquals(expected, arr);
+    }
+}
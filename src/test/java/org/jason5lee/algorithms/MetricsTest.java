@@ -0,0 +1,100 @@
+package org.jason5lee.algorithms;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Comparator;
+import java.util.Random;
+
+/**
+ * Unit test for Metrics.
+ */
+public class MetricsTest {
+    private static Integer[] randomArray(int n) {
+        Random random = new Random(37);
+        Integer[] array = new Integer[n];
+        for (int i = 0; i < n; ++i)
+            array[i] = random.nextInt(100);
+        return array;
+    }
+
+    @Test
+    public void testSortableArray() {
+        Integer[] array = randomArray(1000);
+        Integer[] plain = array.clone();
+        long[] comparisons = new long[1];
+        SortableArray.of(plain, (Integer a, Integer b) -> { ++comparisons[0]; return a.compareTo(b); })
+                .partitionAt(500, SelectionStrategy.BFPRT);
+
+        Metrics metrics = new Metrics();
+        SortableArray<Integer> instrumented = SortableArray.of(array, Comparator.naturalOrder(), metrics);
+        instrumented.partitionAt(500, SelectionStrategy.BFPRT);
+        Assert.assertArrayEquals(plain, array);
+        Assert.assertEquals(comparisons[0], metrics.getComparisons());
+        Assert.assertTrue(metrics.getSwaps() > 0);
+        // The nested call of partitionAt(int) is not counted again.
+        Assert.assertEquals(1, metrics.getCalls("partitionAt"));
+        Assert.assertTrue(metrics.getElapsedNanos("partitionAt") > 0);
+
+        instrumented.discretize();
+        instrumented.sort();
+        Assert.assertEquals(1, metrics.getCalls("discretize"));
+        Assert.assertEquals(1, metrics.getCalls("sort"));
+        Assert.assertTrue(metrics.getOperations().contains("sort"));
+
+        metrics.reset();
+        Assert.assertEquals(0, metrics.getComparisons());
+        Assert.assertEquals(0, metrics.getSwaps());
+        Assert.assertEquals(0, metrics.getCalls("sort"));
+        Assert.assertTrue(metrics.getOperations().isEmpty());
+    }
+
+    @Test
+    public void testNoSelfSwaps() {
+        // The first half is less than the pivot and already in place.
+        Integer[] array = new Integer[1000];
+        for (int i = 0; i < array.length; ++i)
+            array[i] = i < 500 ? 0 : 1;
+
+        Metrics metrics = new Metrics();
+        SortableArray.of(array, Comparator.naturalOrder(), metrics).partitionAt(700, SelectionStrategy.INTROSELECT);
+        Assert.assertEquals(Integer.valueOf(1), array[700]);
+        Assert.assertEquals(0, metrics.getSwaps());
+    }
+
+    @Test
+    public void testBinarySearch() {
+        Metrics metrics = new Metrics();
+        Assert.assertEquals(1000, BinarySearch.findLeastTrue(0, 1 << 20, n -> n >= 1000, metrics));
+        Assert.assertEquals(20, metrics.getPredicateEvaluations());
+        Assert.assertEquals(1, metrics.getCalls("findLeastTrue"));
+
+        Assert.assertEquals(1L << 40, BinarySearch.findLeastTrueLong(0, 1L << 50, n -> n >= 1L << 40, metrics));
+        Assert.assertEquals(20 + 50, metrics.getPredicateEvaluations());
+        Assert.assertEquals(1, metrics.getCalls("findLeastTrueLong"));
+    }
+
+    @Test
+    public void testSequenceBuilder() {
+        Metrics metrics = new Metrics();
+        SequenceBuilder<Integer> builder = new SequenceBuilder<Integer>()
+                .first(1)
+                .iterateBy(x -> x * 3 % 7)
+                .brentCycleDetection()
+                .metrics(metrics);
+
+        CycleInfo info = builder.detectCycle();
+        Assert.assertEquals(info.getEvaluations(), metrics.getFunctionEvaluations());
+        Assert.assertEquals(1, metrics.getCalls("detectCycle"));
+
+        metrics.reset();
+        int count = 0;
+        for (Integer ignored : builder.build())
+            ++count;
+        Assert.assertEquals(count, metrics.getFunctionEvaluations());
+
+        metrics.reset();
+        builder.metrics(null).build().forEach(x -> {});
+        Assert.assertEquals(0, metrics.getFunctionEvaluations());
+    }
+}
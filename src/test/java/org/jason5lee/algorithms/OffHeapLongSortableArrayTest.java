@@ -0,0 +1,117 @@
+package org.jason5lee.algorithms;
+
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Unit test for OffHeapLongSortableArray.
+ */
+public class OffHeapLongSortableArrayTest {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    // Uses segments of 64 elements to cross the segment bounds.
+    private static final int SEGMENT_SHIFT = 6;
+
+    private static OffHeapLongSortableArray copyOf(long[] values) {
+        OffHeapLongSortableArray array = OffHeapLongSortableArray.allocateDirect(values.length, SEGMENT_SHIFT);
+        for (int i = 0; i < values.length; ++i)
+            array.set(i, values[i]);
+        return array;
+    }
+
+    private static long[] toArray(OffHeapLongSortableArray array) {
+        long[] values = new long[(int) array.length()];
+        for (int i = 0; i < values.length; ++i)
+            values[i] = array.get(i);
+        return values;
+    }
+
+    private static long[] randomValues(int n, int bound) {
+        Random random = new Random(13);
+        long[] values = new long[n];
+        for (int i = 0; i < n; ++i)
+            values[i] = random.nextInt(bound) - bound / 2;
+        return values;
+    }
+
+    @Test
+    public void testSortAndUnique() {
+        for (int bound : new int[] { 5, 1 << 30 }) {
+            long[] values = randomValues(1000, bound);
+            OffHeapLongSortableArray array = copyOf(values);
+            array.sort();
+            Arrays.sort(values);
+            Assert.assertArrayEquals(values, toArray(array));
+
+            long newLen = array.unique();
+            Assert.assertEquals(Arrays.stream(values).distinct().count(), newLen);
+            for (long i = 1; i < newLen; ++i)
+                Assert.assertTrue(array.get(i - 1) < array.get(i));
+        }
+    }
+
+    @Test
+    public void testBinarySearch() {
+        OffHeapLongSortableArray array = copyOf(new long[] { 1, 2, 3, 4, 5, 7, 9 });
+        Assert.assertEquals(3, array.binarySearch(0, 7, 4));
+        Assert.assertEquals(-4, array.binarySearch(0, 3, 100));
+        Assert.assertEquals(-4, array.binarySearch(3, 7, 0));
+
+        try {
+            array.binarySearch(0, 8, 2);
+            Assert.fail();
+        }
+        catch (IndexOutOfBoundsException ignored) {}
+    }
+
+    @Test
+    public void testPartitionAt() {
+        long[] values = randomValues(1000, 100);
+        long[] sorted = values.clone();
+        Arrays.sort(sorted);
+        for (long k : new long[] { 0, 500, 999 }) {
+            OffHeapLongSortableArray array = copyOf(values);
+            array.partitionAt(k);
+            Assert.assertEquals(sorted[(int) k], array.get(k));
+            for (long i = 0; i < array.length(); ++i)
+                Assert.assertTrue(i < k ? array.get(i) <= array.get(k) : array.get(i) >= array.get(k));
+        }
+    }
+
+    @Test
+    public void testDiscretize() {
+        long[] values = randomValues(300, 50);
+        OffHeapLongSortableArray array = copyOf(values);
+        OffHeapLongSortableArray result = OffHeapLongSortableArray.allocateDirect(300, SEGMENT_SHIFT);
+        array.discretize(result, OffHeapLongSortableArray.allocateDirect(300, SEGMENT_SHIFT));
+
+        int[] expected = LongSortableArray.of(values).discretize();
+        for (int i = 0; i < expected.length; ++i)
+            Assert.assertEquals(expected[i], result.get(i));
+        Assert.assertArrayEquals(values, toArray(array));
+    }
+
+    @Test
+    public void testMappedFile() throws IOException {
+        Path file = folder.newFile().toPath();
+        long[] values = randomValues(200, 1000);
+        OffHeapLongSortableArray array = OffHeapLongSortableArray.map(file, values.length, SEGMENT_SHIFT);
+        for (int i = 0; i < values.length; ++i)
+            array.set(i, values[i]);
+        array.sort();
+        array.flush();
+
+        Arrays.sort(values);
+        OffHeapLongSortableArray reopened = OffHeapLongSortableArray.map(file);
+        Assert.assertEquals(values.length, reopened.length());
+        Assert.assertArrayEquals(values, toArray(reopened));
+    }
+}
@@ -0,0 +1,98 @@
+package org.jason5lee.algorithms;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Unit test for ParallelCollisionFinder.
+ */
+public class ParallelCollisionFinderTest {
+    // A function on [0, 2^24), which has many collisions.
+    private static final Function<Long, Long> F = x -> {
+        long h = (x + 0x9e3779b97f4a7c15L) * 0xbf58476d1ce4e5b9L;
+        return (h ^ (h >>> 31)) >>> 40;
+    };
+
+    @Test
+    public void testFind() throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            AtomicLong starts = new AtomicLong();
+            ParallelCollisionFinder.Collision<Long> collision = ParallelCollisionFinder
+                    .of(F, x -> (x & 63) == 0, starts::getAndIncrement)
+                    .find(executor, 4);
+
+            Assert.assertNotNull(collision);
+            Assert.assertNotEquals(collision.getFirst(), collision.getSecond());
+            Assert.assertEquals(F.apply(collision.getFirst()), collision.getImage());
+            Assert.assertEquals(F.apply(collision.getSecond()), collision.getImage());
+        }
+        finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testTableFull() throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            // A bijection never collides.
+            AtomicLong starts = new AtomicLong();
+            ParallelCollisionFinder.Collision<Long> collision = ParallelCollisionFinder
+                    .<Long>of(x -> (x * 5 + 1) & 0xffffff, x -> (x & 15) == 0, starts::getAndIncrement)
+                    .maxDistinguishedPoints(100)
+                    .find(executor, 2);
+            Assert.assertNull(collision);
+        }
+        finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test(timeout = 10000)
+    public void testInterrupted() throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            // No point is distinguished, so only the interruption stops the workers.
+            Thread stopper = new Thread(() -> {
+                try {
+                    Thread.sleep(100);
+                }
+                catch (InterruptedException ignored) {}
+                executor.shutdownNow();
+            });
+            stopper.start();
+            ParallelCollisionFinder.Collision<Long> collision = ParallelCollisionFinder
+                    .of(F, x -> false, () -> 0L)
+                    .maxTrailLength(Long.MAX_VALUE)
+                    .find(executor, 2);
+            Assert.assertNull(collision);
+            stopper.join();
+        }
+        finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testException() throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            ParallelCollisionFinder.<Long>of(x -> { throw new IllegalStateException(); }, x -> false, () -> 0L)
+                    .find(executor, 2);
+        }
+        finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testArgCheck() {
+        ParallelCollisionFinder.<Long>of(x -> x, x -> true, () -> 0L).maxTrailLength(0);
+    }
+}
@@ -0,0 +1,77 @@
+package org.jason5lee.algorithms;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Unit test for Permutations.
+ */
+public class PermutationsTest {
+    @Test
+    public void testApply() {
+        int[] permutation = new int[] { 2, 0, 1, 4, 3, 5 };
+        int[] ints = new int[] { 10, 11, 12, 13, 14, 15 };
+        Permutations.apply(permutation, ints);
+        Assert.assertArrayEquals(new int[] { 12, 10, 11, 14, 13, 15 }, ints);
+        Assert.assertArrayEquals(new int[] { 2, 0, 1, 4, 3, 5 }, permutation);
+    }
+
+    @Test
+    public void testApplyAll() {
+        int[] keys = new int[] { 30, 10, 20, 10 };
+        long[] longs = new long[] { 3, 1, 2, 4 };
+        double[] doubles = new double[] { 0.3, 0.1, 0.2, 0.4 };
+        String[] strings = new String[] { "c", "a", "b", "d" };
+
+        int[] permutation = IntSortableArray.of(keys).argsort();
+        Assert.assertArrayEquals(new int[] { 1, 3, 2, 0 }, permutation);
+        Permutations.applyAll(permutation, keys, longs, doubles, strings);
+        Assert.assertArrayEquals(new int[] { 10, 10, 20, 30 }, keys);
+        Assert.assertArrayEquals(new long[] { 1, 4, 2, 3 }, longs);
+        Assert.assertArrayEquals(new double[] { 0.1, 0.4, 0.2, 0.3 }, doubles, 0);
+        Assert.assertArrayEquals(new String[] { "a", "d", "b", "c" }, strings);
+
+        Permutations.applyAll(new int[] { 1, 0, 2, 3 }, strings);
+        Assert.assertArrayEquals(new String[] { "d", "a", "b", "c" }, strings);
+    }
+
+    @Test
+    public void testInvalidPermutation() {
+        int[] permutation = new int[] { 1, 1, 0 };
+        try {
+            Permutations.apply(permutation, new int[3]);
+            Assert.fail();
+        }
+        catch (IllegalArgumentException ignored) {}
+        Assert.assertArrayEquals(new int[] { 1, 1, 0 }, permutation);
+
+        try {
+            Permutations.apply(new int[] { 0, 3, 1 }, new int[3]);
+            Assert.fail();
+        }
+        catch (IllegalArgumentException ignored) {}
+
+        try {
+            Permutations.applyAll(new int[] { 0, 1 }, new int[2], new long[3]);
+            Assert.fail();
+        }
+        catch (IllegalArgumentException ignored) {}
+
+        try {
+            Permutations.applyAll(new int[] { 0, 1 }, new char[2]);
+            Assert.fail();
+        }
+        catch (IllegalArgumentException ignored) {}
+
+        int[] ints = new int[] { 1, 2, 3 };
+        long[] longs = new long[] { 4, 5, 6 };
+        try {
+            Permutations.applyAll(permutation, ints, longs);
+            Assert.fail();
+        }
+        catch (IllegalArgumentException ignored) {}
+        Assert.assertArrayEquals(new int[] { 1, 1, 0 }, permutation);
+        Assert.assertArrayEquals(new int[] { 1, 2, 3 }, ints);
+        Assert.assertArrayEquals(new long[] { 4, 5, 6 }, longs);
+    }
+}
@@ -3,7 +3,12 @@ package org.jason5lee.algorithms;
 import org.junit.Assert;
 import org.junit.Test;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Iterator;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.stream.Collectors;
 
 
 public class SequenceBuilderTest{
@@ -81,4 +86,363 @@ public class SequenceBuilderTest{
         Assert.assertEquals((Integer)5, itor.next());
         Assert.assertFalse(itor.hasNext());
     }
+
+    @Test
+    public void testBrentCycleDetection() {
+        int[] applications = new int[1];
+        Iterable<Integer> seq = new SequenceBuilder<Integer>()
+                .first(1)
+                .iterateBy(x -> { ++applications[0]; return x * 3 % 7; })
+                .brentCycleDetection()
+                .build();
+
+        Iterator<Integer> itor = seq.iterator();
+        Assert.assertEquals((Integer)1, itor.next());
+        Assert.assertEquals((Integer)3, itor.next());
+        Assert.assertEquals((Integer)2, itor.next());
+        Assert.assertEquals((Integer)6, itor.next());
+        Assert.assertEquals((Integer)4, itor.next());
+        Assert.assertEquals((Integer)5, itor.next());
+
+        int count = 6;
+        while (itor.hasNext()) {
+            itor.next();
+            ++count;
+        }
+        // The element at index 7 is saved, and it repeats at index 13.
+        Assert.assertEquals(13, count);
+        Assert.assertEquals(count, applications[0]);
+    }
+
+    @Test
+    public void testBrentCycleDetectionWithTail() {
+        Iterable<Integer> seq = new SequenceBuilder<Integer>()
+                .first(0)
+                .iterateBy(x -> x < 100 ? x + 1 : 90)
+                .brentCycleDetection()
+                .build();
+
+        int count = 0;
+        for (Integer ignored : seq)
+            ++count;
+        // The element at index 127 is in the cycle of length 11.
+        Assert.assertEquals(127 + 11, count);
+    }
+
+    private static SequenceBuilder<Integer> rho(int tailLength, int cycleLength) {
+        return new SequenceBuilder<Integer>()
+                .first(0)
+                .iterateBy(x -> x + 1 < tailLength + cycleLength ? x + 1 : tailLength);
+    }
+
+    @Test
+    public void testDetectCycle() {
+        for (int tailLength = 0; tailLength < 40; ++tailLength) {
+            for (int cycleLength = 1; cycleLength < 40; ++cycleLength) {
+                CycleInfo floyd = rho(tailLength, cycleLength).floydCycleDetection().detectCycle();
+                CycleInfo brent = rho(tailLength, cycleLength).brentCycleDetection().detectCycle();
+                CycleInfo hashMap = rho(tailLength, cycleLength).hashMapCycleDetection().detectCycle();
+                CycleInfo nivasch = rho(tailLength, cycleLength).nivaschCycleDetection(Integer::compare).detectCycle();
+                for (CycleInfo info : new CycleInfo[] { floyd, brent, hashMap, nivasch }) {
+                    Assert.assertEquals(tailLength, info.getTailLength());
+                    Assert.assertEquals(cycleLength, info.getCycleLength());
+                }
+                Assert.assertEquals(tailLength + cycleLength, hashMap.getEvaluations());
+            }
+        }
+
+        CycleInfo floyd = rho(1000, 1000).floydCycleDetection().detectCycle();
+        CycleInfo brent = rho(1000, 1000).brentCycleDetection().detectCycle();
+        Assert.assertTrue(brent.getEvaluations() < floyd.getEvaluations());
+    }
+
+    @Test
+    public void testDetectCycleEvaluations() {
+        int[] applications = new int[1];
+        CycleInfo info = new SequenceBuilder<Integer>()
+                .first(1)
+                .iterateBy(x -> { ++applications[0]; return x * 3 % 7; })
+                .floydCycleDetection()
+                .detectCycle();
+        Assert.assertEquals(0, info.getTailLength());
+        Assert.assertEquals(6, info.getCycleLength());
+        Assert.assertEquals(applications[0], info.getEvaluations());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testDetectCycleWithoutCycleDetection() {
+        new SequenceBuilder<Integer>().iterateBy(x -> x).length(3).detectCycle();
+    }
+
+    @Test
+    public void testNivaschCycleDetection() {
+        Iterable<Integer> seq = new SequenceBuilder<Integer>()
+                .first(1)
+                .iterateBy(x -> x * 3 % 7)
+                .nivaschCycleDetection(Integer::compare)
+                .build();
+
+        Iterator<Integer> itor = seq.iterator();
+        Assert.assertEquals((Integer)1, itor.next());
+        Assert.assertEquals((Integer)3, itor.next());
+        Assert.assertEquals((Integer)2, itor.next());
+        Assert.assertEquals((Integer)6, itor.next());
+        Assert.assertEquals((Integer)4, itor.next());
+        Assert.assertEquals((Integer)5, itor.next());
+        // 1 is the minimum of the cycle, which is repeated at index 6.
+        Assert.assertFalse(itor.hasNext());
+
+        for (int tailLength = 0; tailLength < 50; tailLength += 7) {
+            for (int cycleLength = 1; cycleLength < 50; cycleLength += 3) {
+                // Scrambles the values, so the minimum of the cycle is not at its start.
+                int[] values = new int[tailLength + cycleLength];
+                for (int i = 0; i < values.length; ++i)
+                    values[i] = (i * 37 + 11) % 101;
+                int count = 0;
+                for (Integer ignored : rho(tailLength, cycleLength)
+                        .nivaschCycleDetection((a, b) -> Integer.compare(values[a], values[b]))
+                        .build())
+                    ++count;
+                Assert.assertTrue(count >= tailLength + cycleLength);
+                Assert.assertTrue(count < tailLength + 2 * cycleLength);
+            }
+        }
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void testNivaschNullComparator() {
+        new SequenceBuilder<Integer>().nivaschCycleDetection(null);
+    }
+
+    // The linear congruential generator of MMIX, which jumps by composing the affine maps.
+    private static final JumpableFunction<Long> LCG = (x, k) -> {
+        long a = 6364136223846793005L, c = 1442695040888963407L;
+        long jumpA = 1, jumpC = 0;
+        for (; k > 0; k >>= 1) {
+            if ((k & 1) != 0) {
+                jumpA *= a;
+                jumpC = jumpC * a + c;
+            }
+            c *= a + 1;
+            a *= a;
+        }
+        return jumpA * x + jumpC;
+    };
+
+    @Test
+    public void testStream() {
+        Sequence<Long> seq = new SequenceBuilder<Long>()
+                .first(42L)
+                .iterateBy(LCG)
+                .length(100000)
+                .build();
+
+        Spliterator<Long> spliterator = seq.spliterator();
+        Assert.assertTrue(spliterator.hasCharacteristics(Spliterator.SIZED | Spliterator.ORDERED));
+        Assert.assertEquals(100000, spliterator.getExactSizeIfKnown());
+
+        List<Long> expected = new ArrayList<>();
+        for (Long x : seq)
+            expected.add(x);
+        Assert.assertEquals((Long) (6364136223846793005L * 42 + 1442695040888963407L), expected.get(1));
+        Assert.assertEquals(expected, seq.stream().collect(Collectors.toList()));
+        Assert.assertEquals(expected, seq.parallelStream().collect(Collectors.toList()));
+
+        Spliterator<Long> prefix = spliterator.trySplit();
+        Assert.assertNotNull(prefix);
+        Assert.assertEquals(50000, prefix.estimateSize());
+        Assert.assertEquals(50000, spliterator.estimateSize());
+        spliterator.tryAdvance(x -> Assert.assertEquals(expected.get(50000), x));
+    }
+
+    @Test
+    public void testStreamWithoutJump() {
+        Sequence<Integer> seq = new SequenceBuilder<Integer>()
+                .first(1)
+                .iterateBy(x -> x * 7 % 10)
+                .length(5)
+                .build();
+        Assert.assertNull(seq.spliterator().trySplit());
+        Assert.assertEquals(5, seq.spliterator().getExactSizeIfKnown());
+        Assert.assertEquals(Arrays.asList(1, 7, 9, 3, 1), seq.parallelStream().collect(Collectors.toList()));
+
+        Sequence<Integer> cycle = new SequenceBuilder<Integer>()
+                .first(1)
+                .iterateBy(x -> x * 3 % 7)
+                .hashMapCycleDetection()
+                .build();
+        Assert.assertEquals(Arrays.asList(1, 3, 2, 6, 4, 5), cycle.stream().collect(Collectors.toList()));
+    }
+
+    @Test
+    public void testCached() {
+        int[] applications = new int[1];
+        Sequence<Integer> seq = new SequenceBuilder<Integer>()
+                .first(1)
+                .iterateBy(x -> { ++applications[0]; return x * 3 % 10007; })
+                .hashMapCycleDetection()
+                .cached()
+                .build();
+        Assert.assertEquals(0, applications[0]);
+
+        List<Integer> expected = seq.stream().collect(Collectors.toList());
+        int computed = applications[0];
+        Assert.assertEquals(expected, seq.stream().collect(Collectors.toList()));
+        Assert.assertEquals(computed, applications[0]);
+
+        // The iterators read the elements lazily.
+        Iterator<Integer> first = seq.iterator();
+        Iterator<Integer> second = seq.iterator();
+        Assert.assertEquals(first.next(), second.next());
+        Assert.assertEquals(first.next(), second.next());
+    }
+
+    @Test
+    public void testCachedEviction() {
+        int[] applications = new int[1];
+        Sequence<Integer> seq = new SequenceBuilder<Integer>()
+                .first(1)
+                .iterateBy(x -> { ++applications[0]; return x * 7 % 100003; })
+                .length(10000)
+                .cached(2048)
+                .build();
+
+        List<Integer> expected = new SequenceBuilder<Integer>()
+                .first(1)
+                .iterateBy(x -> x * 7 % 100003)
+                .length(10000)
+                .build()
+                .stream()
+                .collect(Collectors.toList());
+        Assert.assertEquals(expected, seq.stream().collect(Collectors.toList()));
+        int computed = applications[0];
+        Assert.assertEquals(expected, seq.stream().collect(Collectors.toList()));
+        // The evicted chunks are recomputed, but not the whole sequence.
+        Assert.assertTrue(applications[0] > computed);
+        Assert.assertTrue(applications[0] < 2 * computed);
+
+        // The recent chunks are still cached.
+        applications[0] = 0;
+        Iterator<Integer> itor = seq.iterator();
+        for (int i = 0; i < 9000; ++i)
+            itor.next();
+        int skipped = applications[0];
+        while (itor.hasNext())
+            itor.next();
+        Assert.assertEquals(skipped, applications[0]);
+    }
+
+    @Test
+    public void testCachedLessThanChunk() {
+        int[] applications = new int[1];
+        Sequence<Integer> seq = new SequenceBuilder<Integer>()
+                .first(1)
+                .iterateBy(x -> { ++applications[0]; return x * 7 % 100003; })
+                .length(10000)
+                .cached(1000)
+                .build();
+
+        Assert.assertEquals(10000, seq.stream().count());
+        Assert.assertEquals(10000, applications[0]);
+        // Every chunk but the last one is recomputed once, not once for every element.
+        applications[0] = 0;
+        Assert.assertEquals(10000, seq.stream().count());
+        Assert.assertEquals(9 * 1023, applications[0]);
+    }
+
+    @Test
+    public void testCachedConcurrently() throws InterruptedException {
+        Sequence<Long> seq = new SequenceBuilder<Long>()
+                .first(42L)
+                .iterateBy(LCG)
+                .length(50000)
+                .cached(4096)
+                .build();
+        List<Long> expected = new SequenceBuilder<Long>()
+                .first(42L)
+                .iterateBy(LCG)
+                .length(50000)
+                .build()
+                .stream()
+                .collect(Collectors.toList());
+
+        List<List<Long>> results = new ArrayList<>();
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < 4; ++i) {
+            List<Long> result = new ArrayList<>();
+            results.add(result);
+            threads.add(new Thread(() -> seq.forEach(result::add)));
+        }
+        for (Thread thread : threads)
+            thread.start();
+        for (Thread thread : threads)
+            thread.join();
+        for (List<Long> result : results)
+            Assert.assertEquals(expected, result);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testCachedArgCheck() {
+        new SequenceBuilder<Integer>().cached(0);
+    }
+
+    @Test
+    public void testNth() {
+        for (int tailLength = 0; tailLength < 20; tailLength += 3) {
+            for (int cycleLength = 1; cycleLength < 20; cycleLength += 4) {
+                int tail = tailLength, cycle = cycleLength;
+                List<Sequence<Integer>> sequences = Arrays.asList(
+                        rho(tail, cycle).floydCycleDetection().build(),
+                        rho(tail, cycle).brentCycleDetection().build(),
+                        rho(tail, cycle).hashMapCycleDetection().build(),
+                        rho(tail, cycle).nivaschCycleDetection(Integer::compare).build(),
+                        rho(tail, cycle).brentCycleDetection().cached().build());
+                for (Sequence<Integer> seq : sequences) {
+                    for (long n : new long[] { 0, 1, tail, tail + cycle, 1000, 1_000_000_000_000_000L }) {
+                        long expected = n < tail ? n : tail + (n - tail) % cycle;
+                        Assert.assertEquals(expected, (long) seq.nth(n));
+                    }
+                }
+            }
+        }
+
+        int[] applications = new int[1];
+        Sequence<Integer> seq = new SequenceBuilder<Integer>()
+                .first(0)
+                .iterateBy(x -> { ++applications[0]; return x < 99 ? x + 1 : 50; })
+                .brentCycleDetection()
+                .build();
+        Assert.assertEquals((Integer) 76, seq.nth(1_000_000_000_000_026L));
+        applications[0] = 0;
+        seq.nth(1_000_000_000_000_001L);
+        Assert.assertTrue(applications[0] <= 100);
+    }
+
+    @Test
+    public void testNthFixLength() {
+        Sequence<Long> seq = new SequenceBuilder<Long>()
+                .first(42L)
+                .iterateBy(LCG)
+                .length(Integer.MAX_VALUE)
+                .build();
+        Assert.assertEquals(seq.stream().skip(1000).findFirst().get(), seq.nth(1000));
+        Assert.assertEquals(LCG.jump(42L, Integer.MAX_VALUE - 1), seq.nth(Integer.MAX_VALUE - 1));
+
+        Sequence<Integer> plain = new SequenceBuilder<Integer>()
+                .first(1)
+                .iterateBy(x -> x * 7 % 10)
+                .length(5)
+                .build();
+        Assert.assertEquals((Integer) 3, plain.nth(3));
+        try {
+            plain.nth(5);
+            Assert.fail();
+        }
+        catch (IndexOutOfBoundsException ignored) {}
+        try {
+            plain.nth(-1);
+            Assert.fail();
+        }
+        catch (IndexOutOfBoundsException ignored) {}
+    }
 }
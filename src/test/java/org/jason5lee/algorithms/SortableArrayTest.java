@@ -3,7 +3,11 @@ package org.jason5lee.algorithms;
 import org.junit.Assert;
 import org.junit.Test;
 
+import java.util.Arrays;
 import java.util.Comparator;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Unit test for SortableArray.
@@ -90,6 +94,28 @@ public class SortableArrayTest {
         Assert.assertArrayEquals(new int[] {0, 4, 3, 2, 5, 0, 1, 2, 4}, dis);
     }
 
+    @Test
+    public void testDiscretizeByIndexSort() {
+        Double[] arr = new Double[] {1.1, Math.PI, Math.E, 2.0, 5.0, 1.1, 1.7, 2.0, Math.PI};
+        SortableArray<Double> acw = SortableArray.of(arr);
+        int[] buffer = new int[10];
+        Assert.assertSame(buffer, acw.discretizeByIndexSort(buffer));
+        Assert.assertArrayEquals(new int[] {0, 4, 3, 2, 5, 0, 1, 2, 4, 0}, buffer);
+        Assert.assertArrayEquals(acw.discretize(), acw.discretizeByIndexSort(null));
+
+        try {
+            acw.discretizeByIndexSort(new int[8]);
+            Assert.fail();
+        }
+        catch (IllegalArgumentException ignored) {}
+    }
+
+    @Test
+    public void testDiscretizeByHash() {
+        String[] arr = new String[] {"b", "a", "c", "a", "b", "d"};
+        Assert.assertArrayEquals(new int[] {0, 1, 2, 1, 0, 3}, SortableArray.of(arr).discretizeByHash(null));
+    }
+
     @Test
     public void testPartitionAt() {
         Integer[] arr = new Integer[] { 1, 7, 4, 2, 3, 5, 2};
@@ -99,4 +125,212 @@ public class SortableArrayTest {
         acw.partitionAt(5);
         Assert.assertEquals(5, arr[5].intValue());
     }
+
+    @Test
+    public void testParallel() {
+        Random random = new Random(42);
+        Integer[] arr = new Integer[10000];
+        for (int i = 0; i < arr.length; ++i)
+            arr[i] = random.nextInt(500);
+        // Compares only the hundreds digit, so that the stability is observable.
+        Comparator<Integer> byHundreds = Comparator.comparing(x -> x / 100);
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            Integer[] expected = arr.clone();
+            Arrays.sort(expected, byHundreds);
+            Assert.assertArrayEquals(SortableArray.of(arr, byHundreds).discretize(),
+                    SortableArray.of(arr, byHundreds).discretizeParallel(pool, 100));
+
+            SortableArray.of(arr, byHundreds).sortParallel(pool, 100);
+            Assert.assertArrayEquals(expected, arr);
+
+            try {
+                SortableArray.of(arr).sortParallel(pool, 0);
+                Assert.fail();
+            }
+            catch (IllegalArgumentException ignored) {}
+        }
+        finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void testParallelThresholdOne() {
+        Random random = new Random(11);
+        Integer[] arr = new Integer[1000];
+        for (int i = 0; i < arr.length; ++i)
+            arr[i] = random.nextInt(50);
+        Integer[] sorted = arr.clone();
+        Arrays.sort(sorted);
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            Assert.assertArrayEquals(SortableArray.of(arr).discretize(),
+                    SortableArray.of(arr).discretizeParallel(pool, 1));
+            Assert.assertEquals(bruteForceInversions(arr), SortableArray.of(arr).countInversionsParallel(pool, 1));
+
+            SortableArray.of(arr).sortParallel(pool, 1);
+            Assert.assertArrayEquals(sorted, arr);
+        }
+        finally {
+            pool.shutdown();
+        }
+    }
+
+    private static long bruteForceInversions(Integer[] arr) {
+        long count = 0;
+        for (int i = 0; i < arr.length; ++i)
+            for (int j = i + 1; j < arr.length; ++j)
+                if (arr[i] > arr[j])
+                    ++count;
+        return count;
+    }
+
+    @Test
+    public void testCountInversions() {
+        Integer[] arr = new Integer[] { 3, 1, 2, 5, 4, 4, 0 };
+        SortableArray<Integer> acw = SortableArray.of(arr);
+        Assert.assertEquals(10, acw.countInversions());
+        Assert.assertArrayEquals(new Integer[] { 3, 1, 2, 5, 4, 4, 0 }, arr);
+        Assert.assertEquals(10, SortableArray.of(arr, Comparator.reverseOrder()).countInversions());
+
+        Random random = new Random(7);
+        arr = new Integer[3000];
+        for (int i = 0; i < arr.length; ++i)
+            arr[i] = random.nextInt(1000);
+        long expected = bruteForceInversions(arr);
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            Assert.assertEquals(expected, SortableArray.of(arr).countInversionsParallel(pool, 50));
+        }
+        finally {
+            pool.shutdown();
+        }
+        Assert.assertEquals(expected, SortableArray.of(arr).sortAndCountInversions());
+        Assert.assertEquals(0, SortableArray.of(arr).countInversions());
+    }
+
+    @Test
+    public void testPartitionAtWithStrategy() {
+        Random random = new Random(3);
+        for (int bound : new int[] { 3, 1000, 100000 }) {
+            Integer[] arr = new Integer[2000];
+            for (int i = 0; i < arr.length; ++i)
+                arr[i] = random.nextInt(bound);
+            Integer[] sorted = arr.clone();
+            Arrays.sort(sorted);
+
+            for (SelectionStrategy strategy : SelectionStrategy.values()) {
+                for (int k : new int[] { 0, 1, 999, 1500, 1999 }) {
+                    Integer[] copy = arr.clone();
+                    SortableArray.of(copy).partitionAt(k, strategy);
+                    Assert.assertEquals(sorted[k], copy[k]);
+                    for (int i = 0; i < k; ++i)
+                        Assert.assertTrue(copy[i] <= copy[k]);
+                    for (int i = k + 1; i < copy.length; ++i)
+                        Assert.assertTrue(copy[i] >= copy[k]);
+                }
+            }
+        }
+
+        try {
+            SortableArray.of(new Integer[] { 1, 2 }).partitionAt(2, SelectionStrategy.INTROSELECT);
+            Assert.fail();
+        }
+        catch (ArrayIndexOutOfBoundsException ignored) {}
+    }
+
+    @Test
+    public void testPartitionAtAll() {
+        Random random = new Random(5);
+        Integer[] arr = new Integer[100000];
+        for (int i = 0; i < arr.length; ++i)
+            arr[i] = random.nextInt();
+        Integer[] sorted = arr.clone();
+        Arrays.sort(sorted);
+        int[] ks = new int[] { 99899, 49999, 89999, 98999, 49999 };
+
+        AtomicLong comparisons = new AtomicLong();
+        Comparator<Integer> counting = (a, b) -> {
+            comparisons.incrementAndGet();
+            return a.compareTo(b);
+        };
+        Integer[] copy = arr.clone();
+        Integer[] result = SortableArray.of(copy, counting).partitionAtAll(ks);
+        long multiComparisons = comparisons.getAndSet(0);
+        for (int i = 0; i < ks.length; ++i) {
+            Assert.assertEquals(sorted[ks[i]], result[i]);
+            Assert.assertEquals(sorted[ks[i]], copy[ks[i]]);
+        }
+
+        copy = arr.clone();
+        for (int k : ks)
+            SortableArray.of(copy, counting).partitionAt(k, SelectionStrategy.INTROSELECT);
+        Assert.assertTrue(multiComparisons < comparisons.get());
+    }
+
+    @Test
+    public void testQuantiles() {
+        Integer[] arr = new Integer[1000];
+        for (int i = 0; i < arr.length; ++i)
+            arr[i] = (i * 7919) % 1000 + 1;
+        Integer[] result = SortableArray.of(arr).quantiles(0.5, 0.9, 0.99, 0.999, 0, 1);
+        Assert.assertArrayEquals(new Integer[] { 500, 900, 990, 999, 1, 1000 }, result);
+
+        try {
+            SortableArray.of(arr).quantiles(1.5);
+            Assert.fail();
+        }
+        catch (IllegalArgumentException ignored) {}
+    }
+
+    @Test
+    public void testSortByKey() {
+        String[] arr = new String[] { "bb", "a", "ccc", "d", "ee", "f", "", "gg" };
+        SortableArray<String> acw = SortableArray.of(arr);
+        acw.sortByIntKey(String::length);
+        Assert.assertArrayEquals(new String[] { "", "a", "d", "f", "bb", "ee", "gg", "ccc" }, arr);
+        acw.sortByLongKey(s -> -(long) s.length() * Integer.MAX_VALUE);
+        Assert.assertArrayEquals(new String[] { "ccc", "bb", "ee", "gg", "a", "d", "f", "" }, arr);
+    }
+
+    @Test
+    public void testArgsort() {
+        String[] arr = new String[] { "bb", "a", "ccc", "d", "ee" };
+        Comparator<String> byLength = Comparator.comparingInt(String::length);
+        Assert.assertArrayEquals(new int[] { 1, 3, 0, 4, 2 }, SortableArray.of(arr, byLength).argsort());
+        Assert.assertArrayEquals(new String[] { "bb", "a", "ccc", "d", "ee" }, arr);
+    }
+
+    @Test
+    public void testBinarySearchAll() {
+        Random random = new Random(23);
+        Integer[] arr = new Integer[2000];
+        for (int i = 0; i < arr.length; ++i)
+            arr[i] = random.nextInt(3000);
+        Arrays.sort(arr);
+        SortableArray<Integer> acw = SortableArray.of(arr);
+
+        for (int count : new int[] { 0, 1, 10, 5000 }) {
+            Integer[] keys = new Integer[count];
+            for (int i = 0; i < count; ++i)
+                keys[i] = random.nextInt(3100) - 50;
+            Arrays.sort(keys);
+
+            int[] result = acw.binarySearchAll(100, 1900, keys, null);
+            for (int i = 0; i < count; ++i) {
+                int expected = acw.binarySearch(100, 1900, keys[i]);
+                if (expected >= 0)
+                    Assert.assertEquals(keys[i], arr[result[i]]);
+                else
+                    Assert.assertEquals(expected, result[i]);
+            }
+        }
+
+        try {
+            acw.binarySearchAll(new Integer[] { 1, 2 }, new int[1]);
+            Assert.fail();
+        }
+        catch (IllegalArgumentException ignored) {}
+    }
 }
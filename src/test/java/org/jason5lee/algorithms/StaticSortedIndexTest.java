@@ -0,0 +1,165 @@
+package org.jason5lee.algorithms;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Random;
+
+/**
+ * Unit test for StaticSortedIndex.
+ */
+public class StaticSortedIndexTest {
+    private static int lowerBound(long[] sorted, long key) {
+        return BinarySearch.findLeastTrue(0, sorted.length, i -> sorted[i] >= key);
+    }
+
+    private static int upperBound(long[] sorted, long key) {
+        return BinarySearch.findLeastTrue(0, sorted.length, i -> sorted[i] > key);
+    }
+
+    @Test
+    public void testOfLong() {
+        Random random = new Random(29);
+        for (int n = 0; n < 70; ++n) {
+            long[] sorted = new long[n];
+            for (int i = 0; i < n; ++i)
+                sorted[i] = random.nextInt(40) - 20;
+            Arrays.sort(sorted);
+
+            StaticSortedIndex.OfLong index = StaticSortedIndex.OfLong.of(sorted);
+            Assert.assertEquals(n, index.size());
+            for (long key = -22; key <= 22; ++key) {
+                Assert.assertEquals(lowerBound(sorted, key), index.lowerBound(key));
+                Assert.assertEquals(upperBound(sorted, key), index.upperBound(key));
+                Assert.assertEquals(lowerBound(sorted, key), index.rank(key));
+            }
+        }
+    }
+
+    @Test
+    public void testBatch() {
+        Random random = new Random(37);
+        for (int n : new int[] { 0, 1, 15, 16, 17, 300, 5000 }) {
+            long[] sorted = new long[n];
+            for (int i = 0; i < n; ++i)
+                sorted[i] = random.nextInt(100) - 50;
+            if (n > 2) {
+                sorted[0] = Long.MIN_VALUE;
+                sorted[n - 1] = Long.MAX_VALUE;
+            }
+            Arrays.sort(sorted);
+
+            long[] keys = new long[1000];
+            for (int i = 0; i < keys.length; ++i)
+                keys[i] = random.nextInt(110) - 55;
+            keys[0] = Long.MIN_VALUE;
+            keys[1] = Long.MAX_VALUE;
+
+            StaticSortedIndex.OfLong index = StaticSortedIndex.OfLong.of(sorted);
+            int[] lower = index.lowerBounds(keys, null);
+            int[] upper = index.upperBounds(keys, new int[keys.length + 1]);
+            for (int i = 0; i < keys.length; ++i) {
+                Assert.assertEquals(lowerBound(sorted, keys[i]), lower[i]);
+                Assert.assertEquals(upperBound(sorted, keys[i]), upper[i]);
+            }
+        }
+
+        try {
+            StaticSortedIndex.OfLong.of(new long[] { 1, 2 }).lowerBounds(new long[3], new int[2]);
+            Assert.fail();
+        }
+        catch (IllegalArgumentException ignored) {}
+    }
+
+    @Test
+    public void testMultipleLevels() {
+        Random random = new Random(31);
+        for (int n : new int[] { 72, 73, 271, 272, 273, 648, 649, 4624, 4625, 100000 }) {
+            long[] sorted = new long[n];
+            Long[] boxed = new Long[n];
+            for (int i = 0; i < n; ++i)
+                sorted[i] = random.nextInt(n) - n / 2;
+            Arrays.sort(sorted);
+            for (int i = 0; i < n; ++i)
+                boxed[i] = sorted[i];
+
+            StaticSortedIndex.OfLong index = StaticSortedIndex.OfLong.of(sorted);
+            StaticSortedIndex<Long> objectIndex = StaticSortedIndex.of(boxed, Long::compare);
+            for (int t = 0; t < 2000; ++t) {
+                long key = random.nextInt(n + 4) - n / 2 - 2;
+                Assert.assertEquals(lowerBound(sorted, key), index.lowerBound(key));
+                Assert.assertEquals(upperBound(sorted, key), index.upperBound(key));
+                Assert.assertEquals(lowerBound(sorted, key), objectIndex.lowerBound(key));
+                Assert.assertEquals(upperBound(sorted, key), objectIndex.upperBound(key));
+            }
+        }
+    }
+
+    @Test
+    public void testOfInts() {
+        StaticSortedIndex.OfLong index = StaticSortedIndex.OfLong.of(IntSortableArray.of(new int[] { 1, 3, 3, 7 }));
+        Assert.assertEquals(1, index.lowerBound(3));
+        Assert.assertEquals(3, index.upperBound(3));
+        Assert.assertEquals(4, index.lowerBound(Long.MAX_VALUE));
+        Assert.assertEquals(0, index.upperBound(Long.MIN_VALUE));
+
+        try {
+            StaticSortedIndex.OfLong.of(new int[] { 2, 1 });
+            Assert.fail();
+        }
+        catch (IllegalArgumentException ignored) {}
+
+        try {
+            StaticSortedIndex.OfLong.of(IntSortableArray.of(new int[0], Integer::compare));
+            Assert.fail();
+        }
+        catch (IllegalArgumentException ignored) {}
+    }
+
+    @Test
+    public void testOfObjects() {
+        String[] sorted = new String[] { "a", "bb", "bb", "d", "ee", "ff" };
+        StaticSortedIndex<String> index = StaticSortedIndex.of(SortableArray.of(sorted));
+        Assert.assertEquals(1, index.lowerBound("bb"));
+        Assert.assertEquals(3, index.upperBound("bb"));
+        Assert.assertEquals(3, index.rank("c"));
+        Assert.assertEquals(6, index.lowerBound("z"));
+
+        String[] sortedByLength = new String[] { "a", "d", "bb", "ee", "ff", "ccc" };
+        StaticSortedIndex<String> byLength = StaticSortedIndex.of(sortedByLength, Comparator.comparingInt(String::length));
+        Assert.assertEquals(2, byLength.lowerBound("xx"));
+        Assert.assertEquals(5, byLength.upperBound("xx"));
+
+        try {
+            StaticSortedIndex.of(sorted, Comparator.comparingInt(String::length));
+            Assert.fail();
+        }
+        catch (IllegalArgumentException ignored) {}
+    }
+
+    @Test
+    public void testNullElements() {
+        // Enough elements for three levels, with nulls at the separators.
+        Integer[] sorted = new Integer[1000];
+        for (int i = 300; i < sorted.length; ++i)
+            sorted[i] = i / 3;
+        Comparator<Integer> comparator = Comparator.nullsFirst(Comparator.naturalOrder());
+        StaticSortedIndex<Integer> index = StaticSortedIndex.of(sorted, comparator);
+
+        Assert.assertEquals(0, index.lowerBound(null));
+        Assert.assertEquals(300, index.upperBound(null));
+        for (int key = 90; key <= 340; ++key) {
+            int lower = 0, upper = 0;
+            for (Integer element : sorted) {
+                if (comparator.compare(element, key) < 0)
+                    ++lower;
+                if (comparator.compare(element, key) <= 0)
+                    ++upper;
+            }
+            Assert.assertEquals(lower, index.lowerBound(key));
+            Assert.assertEquals(upper, index.upperBound(key));
+        }
+    }
+}